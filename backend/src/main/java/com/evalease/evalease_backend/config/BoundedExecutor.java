@@ -0,0 +1,208 @@
+package com.evalease.evalease_backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named executor with a hard bound on queued + running tasks and an explicit rejection policy.
+ *
+ * Platform mode is a fixed ThreadPoolExecutor with a bounded queue. Virtual mode starts one virtual thread
+ * per task; an admission semaphore gives the same queued + running bound and a second one caps how many
+ * run at once, so blocking HTTP calls are cheap to park but still can't pile up without limit.
+ */
+public class BoundedExecutor implements Executor {
+
+    public enum Rejection {
+        // Run the task on the submitting thread, which slows the producer down
+        CALLER_RUNS,
+        // Throw RejectedExecutionException to the submitter
+        ABORT,
+        // Drop the task silently (counted in the rejected metric)
+        DISCARD
+    }
+
+    private final String name;
+    private final boolean virtualThreads;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final Rejection rejection;
+
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService virtualExecutor;
+    private final Semaphore virtualPermits;
+    private final Semaphore virtualRunning;
+    private final AtomicInteger virtualActive = new AtomicInteger();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+
+    public BoundedExecutor(String name, int maxThreads, int queueCapacity, Rejection rejection, boolean virtualThreads) {
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.rejection = rejection;
+        this.virtualThreads = virtualThreads;
+
+        if (virtualThreads) {
+            this.pool = null;
+            this.virtualExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+            this.virtualPermits = new Semaphore(maxThreads + queueCapacity);
+            this.virtualRunning = new Semaphore(maxThreads);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                    queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                    r -> {
+                        Thread t = new Thread(r, name + "-" + threadCount.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    (r, executor) -> reject(r));
+            this.pool.allowCoreThreadTimeOut(true);
+            this.virtualExecutor = null;
+            this.virtualPermits = null;
+            this.virtualRunning = null;
+        }
+    }
+
+    // Counts the outcome of a task; offered tasks are never run by the caller or dropped silently
+    private final class Tracked implements Runnable {
+        final Runnable task;
+        final boolean offered;
+
+        Tracked(Runnable task, boolean offered) {
+            this.task = task;
+            this.offered = offered;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+                completed.incrementAndGet();
+            } catch (RuntimeException | Error e) {
+                failed.incrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submit(new Tracked(task, false));
+    }
+
+    // Runs the task on this executor if it has room; false (whatever the rejection policy) when it has not
+    public boolean offer(Runnable task) {
+        try {
+            submit(new Tracked(task, true));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void submit(Tracked tracked) {
+        submitted.incrementAndGet();
+
+        if (!virtualThreads) {
+            pool.execute(tracked);
+            return;
+        }
+
+        if (!virtualPermits.tryAcquire()) {
+            reject(tracked);
+            return;
+        }
+        try {
+            virtualExecutor.execute(() -> {
+                try {
+                    virtualRunning.acquire();
+                } catch (InterruptedException e) {
+                    virtualPermits.release();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                virtualActive.incrementAndGet();
+                try {
+                    tracked.run();
+                } finally {
+                    virtualActive.decrementAndGet();
+                    virtualRunning.release();
+                    virtualPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            virtualPermits.release();
+            reject(tracked);
+        }
+    }
+
+    private void reject(Runnable task) {
+        boolean shutdown = virtualThreads ? virtualExecutor.isShutdown() : pool.isShutdown();
+        if (task instanceof Tracked tracked && tracked.offered) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException(name + " is saturated");
+        }
+        if (rejection == Rejection.CALLER_RUNS && !shutdown) {
+            callerRuns.incrementAndGet();
+            task.run();
+            return;
+        }
+        rejected.incrementAndGet();
+        if (rejection == Rejection.ABORT || shutdown) {
+            throw new RejectedExecutionException(name + " is saturated");
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Rejection getRejection() {
+        return rejection;
+    }
+
+    public int getActiveCount() {
+        return virtualThreads ? virtualActive.get() : pool.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        if (virtualThreads) {
+            // Admitted tasks that are not running yet are waiting for a run permit
+            int held = (maxThreads + queueCapacity) - virtualPermits.availablePermits();
+            return Math.max(0, held - virtualActive.get());
+        }
+        return pool.getQueue().size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", virtualThreads ? "virtual" : "platform");
+        stats.put("maxThreads", maxThreads);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("rejectionPolicy", rejection.name());
+        stats.put("active", getActiveCount());
+        stats.put("queueDepth", getQueueDepth());
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("callerRuns", callerRuns.get());
+        return stats;
+    }
+
+    public void shutdown() {
+        if (virtualThreads) {
+            virtualExecutor.shutdown();
+        } else {
+            pool.shutdown();
+        }
+    }
+}
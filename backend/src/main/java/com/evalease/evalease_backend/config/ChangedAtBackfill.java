@@ -0,0 +1,34 @@
+package com.evalease.evalease_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Stamps submissions saved before submitted_form.changed_at existed with the boot time, so the incremental NDJSON
+ * export sends them once more and then only when they change. Only touches rows without a stamp, so it is a no-op
+ * on every later boot and safe on several instances.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ChangedAtBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangedAtBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        int stamped = jdbcTemplate.update("UPDATE submitted_form SET changed_at = ? WHERE changed_at IS NULL",
+                Timestamp.from(Instant.now()));
+        if (stamped > 0) {
+            System.out.println("Stamped changed_at on " + stamped + " existing submissions");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.evalease.evalease_backend.config;
+
+import com.evalease.evalease_backend.entity.IdSequences;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves each id sequence past the ids already in its table, so rows created under IDENTITY keep their ids and
+ * new rows never collide with them. Runs after Hibernate has created the sequences and before the web server
+ * accepts requests; it only ever moves a sequence forward, so it is safe on every boot and on several instances.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        boolean postgres = product != null && product.toLowerCase().contains("postgres");
+
+        for (Map.Entry<String, String> entry : IdSequences.TABLES.entrySet()) {
+            String sequence = entry.getKey();
+            String table = entry.getValue();
+
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) continue;
+
+            // The pooled optimizer treats a sequence value as the top of its block, so leave a full block of room
+            long next = maxId + IdSequences.ALLOCATION_SIZE + 1;
+            if (postgres) {
+                Long current = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+                if (current != null && current >= next) continue;
+                jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', ?)", Long.class, next);
+            } else {
+                // MySQL: Hibernate's one-row sequence table
+                if (jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", next, next) == 0) {
+                    continue;
+                }
+            }
+            System.out.println("Id sequence " + sequence + " moved past existing " + table + " ids to " + next);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.evalease.evalease_backend.config;
 
 import com.evalease.evalease_backend.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -45,6 +46,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/employees/**", "/login", "/signup").permitAll() // Publicly accessible endpoints
                         .requestMatchers("/api/forms/**", "/api/responses/**", "/api/employee-dashboard/**").hasAnyRole("EMPLOYEE", "ADMIN")
                         .requestMatchers("/admin/**", "/api/analytics/**").hasRole("ADMIN")
+                        // Sentiment operations: job queue control, backfill runs and the internal stats endpoints
+                        .requestMatchers("/api/sentiment/jobs/**", "/api/sentiment/backfill/**", "/api/sentiment/*/stats").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -109,4 +112,21 @@ public class SecurityConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    // BCrypt is CPU-bound: keep the pool near the core count and reject once the short queue is full
+    @Bean(name = "passwordHashExecutor", destroyMethod = "shutdown")
+    public BoundedExecutor passwordHashExecutor(
+            @Value("${security.password.threads:2}") int threads,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity) {
+        return new BoundedExecutor("password-hash", threads, queueCapacity, BoundedExecutor.Rejection.ABORT, false);
+    }
+
+    // Blocking work that follows a hash (saving the new account), kept off passwordHashExecutor so database
+    // latency doesn't take hashing capacity; rejects like the hashing pool when full
+    @Bean(name = "accountIoExecutor", destroyMethod = "shutdown")
+    public BoundedExecutor accountIoExecutor(
+            @Value("${security.account-io.threads:8}") int threads,
+            @Value("${security.account-io.queue-capacity:256}") int queueCapacity) {
+        return new BoundedExecutor("account-io", threads, queueCapacity, BoundedExecutor.Rejection.ABORT, false);
+    }
 }
@@ -0,0 +1,30 @@
+package com.evalease.evalease_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class SentimentClientConfig {
+
+    // Base URL of the feedback-sentiment-api service
+    public static String sentimentApiBaseUrl() {
+        String envUrl = System.getenv("SENTIMENT_API_URL");
+        if (envUrl != null && !envUrl.isEmpty()) {
+            return envUrl.endsWith("/") ? envUrl.substring(0, envUrl.length() - 1) : envUrl;
+        }
+        return "http://localhost:5000";
+    }
+
+    // Timeouts keep a cold or hung scoring service from holding threads until the OS gives up
+    @Bean
+    public RestTemplate sentimentRestTemplate(@Value("${sentiment.client.connect-timeout-ms:2000}") int connectTimeoutMillis,
+                                              @Value("${sentiment.client.read-timeout-ms:5000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        return new RestTemplate(requestFactory);
+    }
+}
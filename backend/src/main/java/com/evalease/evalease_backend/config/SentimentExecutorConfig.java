@@ -0,0 +1,34 @@
+package com.evalease.evalease_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executors for sentiment work, kept apart from Spring's default async executor and the common ForkJoinPool.
+ *
+ * sentimentTaskExecutor runs the batches claimed by the sentiment job worker.
+ * sentimentIoExecutor runs the blocking HTTP calls to the scoring service; its size is the number of requests in flight.
+ */
+@Configuration
+public class SentimentExecutorConfig {
+
+    @Value("${sentiment.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = "sentimentTaskExecutor", destroyMethod = "shutdown")
+    public BoundedExecutor sentimentTaskExecutor(
+            @Value("${sentiment.executor.task.threads:4}") int threads,
+            @Value("${sentiment.executor.task.queue-capacity:1000}") int queueCapacity,
+            @Value("${sentiment.executor.task.rejection:CALLER_RUNS}") BoundedExecutor.Rejection rejection) {
+        return new BoundedExecutor("sentiment-task", threads, queueCapacity, rejection, virtualThreads);
+    }
+
+    @Bean(name = "sentimentIoExecutor", destroyMethod = "shutdown")
+    public BoundedExecutor sentimentIoExecutor(
+            @Value("${sentiment.executor.io.threads:4}") int threads,
+            @Value("${sentiment.executor.io.queue-capacity:0}") int queueCapacity,
+            @Value("${sentiment.executor.io.rejection:CALLER_RUNS}") BoundedExecutor.Rejection rejection) {
+        return new BoundedExecutor("sentiment-io", threads, queueCapacity, rejection, virtualThreads);
+    }
+}
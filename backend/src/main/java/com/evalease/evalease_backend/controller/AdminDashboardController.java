@@ -1,29 +1,51 @@
 package com.evalease.evalease_backend.controller;
-import com.evalease.evalease_backend.dto.AdminDashboardStatsDTO;
 
+import com.evalease.evalease_backend.service.FormDefinitionCache;
 import com.evalease.evalease_backend.service.FormService;
+import com.evalease.evalease_backend.service.PasswordHashingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin/dashboard")
 public class AdminDashboardController {
 
     private final FormService dashboardService;
+    private final PasswordHashingService passwordHashingService;
+    private final FormDefinitionCache formDefinitionCache;
+    private final ConditionalResponses conditionalResponses;
 
-    public AdminDashboardController(FormService dashboardService) {
+    public AdminDashboardController(FormService dashboardService, PasswordHashingService passwordHashingService,
+                                    FormDefinitionCache formDefinitionCache, ConditionalResponses conditionalResponses) {
         this.dashboardService = dashboardService;
+        this.passwordHashingService = passwordHashingService;
+        this.formDefinitionCache = formDefinitionCache;
+        this.conditionalResponses = conditionalResponses;
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<?> getDashboardStats() {
+    public ResponseEntity<?> getDashboardStats(WebRequest request) {
     try {
-        AdminDashboardStatsDTO stats = dashboardService.getAdminDashboardStats();
-        return ResponseEntity.ok(stats);
+        return conditionalResponses.forAllForms("dashboard-stats", request, dashboardService::getAdminDashboardStats);
     } catch (Exception e) {
         e.printStackTrace();  // logs error in console
         return ResponseEntity.status(500).body("Internal server error: " + e.getMessage());
     }
 }
 
-}
\ No newline at end of file
+    // Hash/verify counts, hashing latency, queue wait and rejections of the password hashing pool
+    @GetMapping("/password-hashing/stats")
+    public Map<String, Object> getPasswordHashingStats() {
+        return passwordHashingService.getStats();
+    }
+
+    // Hit ratio, size and invalidations of the form definition snapshot cache
+    @GetMapping("/form-cache/stats")
+    public Map<String, Object> getFormCacheStats() {
+        return formDefinitionCache.getStats();
+    }
+
+}
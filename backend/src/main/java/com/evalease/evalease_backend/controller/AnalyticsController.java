@@ -3,18 +3,39 @@ package com.evalease.evalease_backend.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.evalease.evalease_backend.dto.FormCatalogQuery;
+import com.evalease.evalease_backend.dto.FormLeaderboardDTO;
 import com.evalease.evalease_backend.dto.QuestionAnalyticsDTO;
+import com.evalease.evalease_backend.dto.RecentFormDTO;
 import com.evalease.evalease_backend.dto.SessionAnalyticsDTO;
 import com.evalease.evalease_backend.entity.Form;
 import com.evalease.evalease_backend.repository.FormRepository;
+import com.evalease.evalease_backend.service.AnalyticsCache;
+import com.evalease.evalease_backend.service.AnalyticsRollupService;
 import com.evalease.evalease_backend.service.AnalyticsService;
+import com.evalease.evalease_backend.service.ExportService;
+import com.evalease.evalease_backend.service.FormCatalogService;
+import com.evalease.evalease_backend.service.SubmissionImportService;
 
 import com.evalease.evalease_backend.repository.SubmittedFormRepository;
 import com.evalease.evalease_backend.entity.SubmittedForm;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -29,46 +50,97 @@ public class AnalyticsController {
     @Autowired
     private SubmittedFormRepository submittedFormRepository;
 
-    // 🔹 Export form submissions to CSV
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private SubmissionImportService importService;
+
+    @Autowired
+    private ConditionalResponses conditionalResponses;
+
+    @Autowired
+    private FormCatalogService formCatalogService;
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    // 🔹 Export form submissions to CSV (streamed page by page, optionally gzip-compressed)
     @GetMapping("/forms/{formId}/export/csv")
-    public void exportToCSV(@PathVariable Long formId, HttpServletResponse response) throws IOException {
+    public void exportToCSV(@PathVariable Long formId,
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
         Form form = formRepository.findById(formId).orElseThrow(() -> new RuntimeException("Form not found"));
-        List<SubmittedForm> submissions = submittedFormRepository.findByFormId(formId);
-        
+
         response.setContentType("text/csv");
+        response.setCharacterEncoding("UTF-8");
         response.setHeader("Content-Disposition", "attachment; filename=" + form.getTitle().replaceAll("\\s+", "_") + "_responses.csv");
-        
-        StringBuilder csv = new StringBuilder();
-        // Header
-        csv.append("Submission ID,Employee Name,Employee Email,Submitted At");
-        for (var q : form.getQuestions()) {
-            csv.append(",\"").append(q.getTitle().replace("\"", "\"\"")).append("\"");
+
+        try (Writer writer = openExportWriter(response, gzip)) {
+            exportService.writeCsv(formId, writer);
         }
-        csv.append("\n");
-        
-        // Data rows
-        for (var sub : submissions) {
-            csv.append(sub.getId()).append(",");
-            csv.append(sub.getEmployee() != null ? sub.getEmployee().getName() : "Anonymous").append(",");
-            csv.append(sub.getEmployee() != null ? sub.getEmployee().getEmail() : "N/A").append(",");
-            csv.append(sub.getSubmittedAt()).append(",");
-            
-            // Map question ID to answer for this submission
-            Map<Long, String> answersMap = new HashMap<>();
-            for (var resp : sub.getResponses()) {
-                answersMap.put(resp.getQuestion().getId(), resp.getAnswer());
-            }
-            
-            for (int i = 0; i < form.getQuestions().size(); i++) {
-                var q = form.getQuestions().get(i);
-                String answer = answersMap.getOrDefault(q.getId(), "");
-                csv.append("\"").append(answer.replace("\"", "\"\"")).append("\"");
-                if (i < form.getQuestions().size() - 1) csv.append(",");
-            }
-            csv.append("\n");
+    }
+
+    // 🔹 Export raw submissions as NDJSON for downstream pipelines. The X-Export-Watermark response header is the
+    // since of the next pull; submissions changed in between (new, or scored since) are sent again
+    @GetMapping("/forms/{formId}/export/ndjson")
+    public void exportToNdjson(@PathVariable Long formId,
+                               @RequestParam(required = false) String since,
+                               @RequestParam(defaultValue = "true") boolean gzip,
+                               HttpServletResponse response) throws IOException {
+        if (!formRepository.existsById(formId)) {
+            throw new RuntimeException("Form not found");
+        }
+
+        Instant from = ExportService.parseWatermark(since);
+        Instant until = exportService.currentWatermark();
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("X-Export-Watermark", until.toString());
+
+        try (Writer writer = openExportWriter(response, gzip)) {
+            exportService.writeNdjson(formId, from, until, writer);
+        }
+    }
+
+    // 🔹 Import submissions collected offline (NDJSON, same shape as the export); the body is streamed, gzip allowed
+    @PostMapping(value = "/forms/{formId}/import/ndjson")
+    public Map<String, Object> importNdjson(@PathVariable Long formId, HttpServletRequest request) throws IOException {
+        try (BufferedReader reader = openImportReader(request)) {
+            return importService.importNdjson(formId, reader);
+        }
+    }
+
+    // 🔹 Import submissions from CSV: header row of Employee ID / Employee Email / Submitted At and question ids or titles
+    @PostMapping(value = "/forms/{formId}/import/csv")
+    public Map<String, Object> importCsv(@PathVariable Long formId, HttpServletRequest request) throws IOException {
+        try (BufferedReader reader = openImportReader(request)) {
+            return importService.importCsv(formId, reader);
         }
-        
-        response.getWriter().write(csv.toString());
+    }
+
+    private BufferedReader openImportReader(HttpServletRequest request) throws IOException {
+        InputStream in = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+            in = new GZIPInputStream(in, EXPORT_BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+    }
+
+    private Writer openExportWriter(HttpServletResponse response, boolean gzip) throws IOException {
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            // syncFlush so every page flushed by the exporter reaches the client right away
+            out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE, true);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
     }
 
     // 🔹 Get submissions list for a specific form
@@ -93,28 +165,35 @@ public class AnalyticsController {
         return result;
     }
 
-    // 🔹 Get all training sessions
+    // 🔹 Get training sessions, one catalog page at a time (same filters as GET /api/forms)
     @GetMapping("/forms")
-    public List<Form> getAllForms() {
-        return formRepository.findAll();
+    public ResponseEntity<Map<String, Object>> getAllForms(FormCatalogQuery query, WebRequest request) {
+        return conditionalResponses.forAllForms("analytics-forms", request, () -> formCatalogService.search(query));
     }
 
     // 🔹 Get questions by session ID
     @GetMapping("/forms/{formId}/questions")
-    public List<QuestionAnalyticsDTO> getQuestionAnalytics(@PathVariable Long formId) {
-        return analyticsService.getQuestionAnalyticsByFormId(formId);
+    public ResponseEntity<List<QuestionAnalyticsDTO>> getQuestionAnalytics(@PathVariable Long formId, WebRequest request) {
+        return conditionalResponses.forForm("question-analytics", formId, request,
+                () -> analyticsService.getQuestionAnalyticsVersioned(formId));
     }
 
     // 🔹 Get aggregated answers for charting
     @GetMapping("/forms/{formId}/session-analytics")
-    public SessionAnalyticsDTO getSessionAnalytics(@PathVariable Long formId) {
-        return analyticsService.getSessionAnalytics(formId);
+    public ResponseEntity<SessionAnalyticsDTO> getSessionAnalytics(@PathVariable Long formId, WebRequest request) {
+        return conditionalResponses.forForm("session-analytics", formId, request,
+                () -> analyticsService.getSessionAnalyticsVersioned(formId));
     }
 
     // 🔹 Get average sentiment for a form
     @GetMapping("/forms/{formId}/sentiment/average")
-    public Map<String, Object> getAverageSentimentByForm(@PathVariable Long formId) {
-        double avg = analyticsService.getSessionAnalytics(formId).getAverageSentiment();
+    public ResponseEntity<Map<String, Object>> getAverageSentimentByForm(@PathVariable Long formId, WebRequest request) {
+        return conditionalResponses.forForm("form-sentiment", formId, request,
+                () -> analyticsService.getSessionAnalyticsVersioned(formId).map(this::averageSentimentOf));
+    }
+
+    private Map<String, Object> averageSentimentOf(SessionAnalyticsDTO analytics) {
+        double avg = analytics.getAverageSentiment();
         Map<String, Object> result = new HashMap<>();
         result.put("averageSentiment", avg);
         result.put("category",
@@ -126,8 +205,13 @@ public class AnalyticsController {
 
     // 🔹 Get response count for a form
     @GetMapping("/forms/{formId}/responses/count")
-    public Map<String, Object> getResponseCountByForm(@PathVariable Long formId) {
-        long count = analyticsService.getSessionAnalytics(formId).getTotalResponses();
+    public ResponseEntity<Map<String, Object>> getResponseCountByForm(@PathVariable Long formId, WebRequest request) {
+        return conditionalResponses.forForm("form-response-count", formId, request,
+                () -> analyticsService.getSessionAnalyticsVersioned(formId).map(this::responseCountOf));
+    }
+
+    private Map<String, Object> responseCountOf(SessionAnalyticsDTO analytics) {
+        long count = analytics.getTotalResponses();
         Map<String, Object> result = new HashMap<>();
         result.put("responseCount", count);
         return result;
@@ -135,26 +219,23 @@ public class AnalyticsController {
 
     // 🔹 Get average sentiment for all forms
     @GetMapping("/forms/sentiment/average")
-    public List<Map<String, Object>> getAverageSentimentAllForms() {
-        List<Form> forms = formRepository.findAll();
+    public ResponseEntity<List<Map<String, Object>>> getAverageSentimentAllForms(WebRequest request) {
+        return conditionalResponses.forAllForms("sentiment-per-form", request, this::averageSentimentPerForm);
+    }
+
+    private List<Map<String, Object>> averageSentimentPerForm() {
         List<Map<String, Object>> result = new ArrayList<>();
 
-        for (Form form : forms) {
+        for (FormLeaderboardDTO entry : analyticsService.getFormLeaderboard()) {
             Map<String, Object> map = new HashMap<>();
-            map.put("formId", form.getId());
-            map.put("name", form.getTitle());
-            
-            try {
-                SessionAnalyticsDTO analytics = analyticsService.getSessionAnalytics(form.getId());
-                double avg = analytics.getAverageSentiment();
-                map.put("averageSentiment", avg);
-                map.put("category",
-                    avg > 0.1 ? "Positive" :
-                    avg < -0.1 ? "Negative" : "Neutral");
-            } catch (Exception e) {
-                map.put("category", "Neutral");
-                map.put("averageSentiment", 0.0);
-            }
+            map.put("formId", entry.getFormId());
+            map.put("name", entry.getTitle());
+
+            double avg = entry.getAverageSentiment();
+            map.put("averageSentiment", avg);
+            map.put("category",
+                avg > 0.1 ? "Positive" :
+                avg < -0.1 ? "Negative" : "Neutral");
             result.add(map);
         }
         return result;
@@ -162,16 +243,21 @@ public class AnalyticsController {
 
     // 🔹 Get response count per form
     @GetMapping("/forms/responses/count")
-    public List<Map<String, Object>> getResponseCountPerForm() {
-        List<Form> forms = formRepository.findAll();
-        List<Map<String, Object>> data = new ArrayList<>();
+    public ResponseEntity<List<Map<String, Object>>> getResponseCountPerForm(WebRequest request) {
+        return conditionalResponses.forAllForms("responses-per-form", request, this::responseCountPerForm);
+    }
 
-        for (Form form : forms) {
+    private List<Map<String, Object>> responseCountPerForm() {
+        // One grouped statement however many forms there are
+        List<RecentFormDTO> forms = analyticsRollupService.isEnabled()
+                ? formRepository.findAllWithResponseCount()
+                : formRepository.findAllWithLiveResponseCount();
+        List<Map<String, Object>> data = new ArrayList<>(forms.size());
+
+        for (RecentFormDTO form : forms) {
             Map<String, Object> map = new HashMap<>();
             map.put("form", form.getTitle());
-            // Use optimized count query instead of full analytics load
-            long count = submittedFormRepository.countByFormId(form.getId());
-            map.put("responses", count); 
+            map.put("responses", form.getResponseCount());
             data.add(map);
         }
         return data;
@@ -179,33 +265,32 @@ public class AnalyticsController {
 
     // 🔹 Get system-wide top performers
     @GetMapping("/summary/top-performers")
-    public Map<String, Object> getTopPerformers() {
-        List<Form> forms = formRepository.findAll();
+    public ResponseEntity<Map<String, Object>> getTopPerformers(WebRequest request) {
+        return conditionalResponses.forAllForms("top-performers", request, this::topPerformers);
+    }
+
+    private Map<String, Object> topPerformers() {
+        List<FormLeaderboardDTO> leaderboard = analyticsService.getFormLeaderboard();
         long totalResponses = submittedFormRepository.count();
         
         Map<String, Object> result = new HashMap<>();
         
-        Form topRatedForm = null;
+        FormLeaderboardDTO topRatedForm = null;
         double maxRating = -1.0;
         
-        Form topSentimentForm = null;
+        FormLeaderboardDTO topSentimentForm = null;
         double maxSentiment = -2.0;
 
-        for (Form form : forms) {
-            try {
-                SessionAnalyticsDTO analytics = analyticsService.getSessionAnalytics(form.getId());
-                
-                if (analytics.getAverageRating() > maxRating) {
-                    maxRating = analytics.getAverageRating();
-                    topRatedForm = form;
-                }
-                
-                double sentimentScore = analytics.getAverageSentiment();
-                if (sentimentScore > maxSentiment) {
-                    maxSentiment = sentimentScore;
-                    topSentimentForm = form;
-                }
-            } catch (Exception ignored) {}
+        for (FormLeaderboardDTO entry : leaderboard) {
+            if (entry.getAverageRating() > maxRating) {
+                maxRating = entry.getAverageRating();
+                topRatedForm = entry;
+            }
+
+            if (entry.getAverageSentiment() > maxSentiment) {
+                maxSentiment = entry.getAverageSentiment();
+                topSentimentForm = entry;
+            }
         }
 
         result.put("topRatedForm", topRatedForm != null ? topRatedForm.getTitle() : "N/A");
@@ -213,25 +298,39 @@ public class AnalyticsController {
         result.put("topSentimentForm", topSentimentForm != null ? topSentimentForm.getTitle() : "N/A");
         result.put("topSentiment", topSentimentForm != null ? maxSentiment : 0.0);
         
-        result.put("totalForms", forms.size());
+        result.put("totalForms", leaderboard.size());
         result.put("totalResponses", totalResponses);
         return result;
     }
 
-    // 🔹 New optimized endpoint for form basic details
+    // 🔹 Form basic details for the analytics page, paged and filterable like the catalog
     @GetMapping("/forms/list")
-    public List<Map<String, Object>> getFormsList() {
-        List<Form> forms = formRepository.findAll();
-        List<Map<String, Object>> result = new ArrayList<>();
-        for (Form f : forms) {
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", f.getId());
-            map.put("title", f.getTitle());
-            map.put("description", f.getDescription());
-            map.put("deadline", f.getDeadline());
-            map.put("category", f.getCategory());
-            result.add(map);
-        }
+    public ResponseEntity<Map<String, Object>> getFormsList(FormCatalogQuery query, WebRequest request) {
+        return conditionalResponses.forAllForms("forms-list", request, () -> formCatalogService.search(query));
+    }
+
+    // 🔹 Recompute the analytics rollups of one form from raw responses
+    @PostMapping("/forms/{formId}/rollups/rebuild")
+    public Map<String, Object> rebuildFormRollups(@PathVariable Long formId) {
+        formRepository.findById(formId).orElseThrow(() -> new RuntimeException("Form not found"));
+        analyticsRollupService.rebuildForm(formId);
+        Map<String, Object> result = new HashMap<>();
+        result.put("formId", formId);
+        result.put("rebuilt", true);
+        return result;
+    }
+
+    // 🔹 Recompute the analytics rollups of every form
+    @PostMapping("/rollups/rebuild")
+    public Map<String, Object> rebuildAllRollups() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("formsRebuilt", analyticsRollupService.rebuildAll());
         return result;
     }
+
+    // 🔹 Hit/miss statistics of the analytics result cache
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        return analyticsCache.getStats();
+    }
 }
@@ -0,0 +1,111 @@
+package com.evalease.evalease_backend.controller;
+
+import com.evalease.evalease_backend.service.AnalyticsCache;
+import com.evalease.evalease_backend.service.DataVersionService;
+import com.evalease.evalease_backend.service.FormDefinitionCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Strong ETags for read endpoints, derived from the data versions instead of hashing the response body, and the
+ * matching If-None-Match check. The body supplier only runs when the client's tag is stale, so a 304 costs a
+ * header comparison and none of the queries or analytics behind the response.
+ *
+ * Per-form analytics may be served stale by AnalyticsCache while it refreshes, so their tag is built from the
+ * version of the value actually returned, never from the current version alone.
+ *
+ * Tags come from stored state whenever it exists (rollup data versions, the form's updatedAt), so every instance
+ * hands out and accepts the same tags. Without rollups DataVersionService falls back to its local counters and
+ * adds a boot epoch to the tag. Responses are marked private/no-cache, which replaces Spring Security's no-store
+ * default so browsers keep them and revalidate on every request.
+ * Disable with http.etags.enabled=false.
+ */
+@Component
+public class ConditionalResponses {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final DataVersionService dataVersions;
+    private final FormDefinitionCache formDefinitions;
+    private final boolean enabled;
+
+    public ConditionalResponses(DataVersionService dataVersions,
+                                FormDefinitionCache formDefinitions,
+                                @Value("${http.etags.enabled:true}") boolean enabled) {
+        this.dataVersions = dataVersions;
+        this.formDefinitions = formDefinitions;
+        this.enabled = enabled;
+    }
+
+    // For responses built from one form's data (submissions, sentiment, rollups and its definition)
+    public <T> ResponseEntity<T> forForm(String resource, Long formId, WebRequest request,
+                                         Supplier<AnalyticsCache.Versioned<T>> body) {
+        if (!enabled) {
+            return ResponseEntity.ok(body.get().value());
+        }
+
+        // A client holding the current version's tag already has the current body
+        String current = formTag(resource, formId, dataVersions.formVersion(formId));
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), current)) {
+            return notModified(current);
+        }
+        AnalyticsCache.Versioned<T> served = body.get();
+        return ResponseEntity.ok().eTag(formTag(resource, formId, served.version())).cacheControl(CACHE_CONTROL)
+                .body(served.value());
+    }
+
+    private String formTag(String resource, Long formId, long version) {
+        return tag(resource, formId + "-" + dataVersions.formVersionTag(version));
+    }
+
+    // For a form's definition only; submissions don't change it. The tag and the body come from the same snapshot.
+    public <T> ResponseEntity<T> forFormDefinition(String resource, Long formId, WebRequest request,
+                                                   Function<FormDefinitionCache.FormSnapshot, T> body) {
+        FormDefinitionCache.FormSnapshot snapshot = formDefinitions.get(formId);
+        return respond(tag(resource, formId + "-d" + snapshot.definitionStamp()), request, () -> body.apply(snapshot));
+    }
+
+    // For responses spanning all forms
+    public <T> ResponseEntity<T> forAllForms(String resource, WebRequest request, Supplier<T> body) {
+        return respond(tag(resource, dataVersions.globalVersionTag()), request, body);
+    }
+
+    private String tag(String resource, String version) {
+        return "\"" + resource + "-" + version + "\"";
+    }
+
+    private <T> ResponseEntity<T> respond(String etag, WebRequest request, Supplier<T> body) {
+        if (!enabled) {
+            return ResponseEntity.ok(body.get());
+        }
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return notModified(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(body.get());
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix added by a proxy still matches
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) return true;
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -1,22 +1,24 @@
 package com.evalease.evalease_backend.controller;
 
+import com.evalease.evalease_backend.config.BoundedExecutor;
 import com.evalease.evalease_backend.dto.AuthenticationResponse;
+import com.evalease.evalease_backend.dto.ErrorResponse;
 import com.evalease.evalease_backend.dto.LoginRequest;
 import com.evalease.evalease_backend.entity.Employee;
 import com.evalease.evalease_backend.entity.Role;
 import com.evalease.evalease_backend.repository.EmployeeRepository;
 import com.evalease.evalease_backend.security.JwtUtil;
+import com.evalease.evalease_backend.service.PasswordHashingService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -26,27 +28,25 @@ public class EmployeeController {
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    @Qualifier("accountIoExecutor")
+    private BoundedExecutor accountIoExecutor;
 
-    // Endpoint to save employee during Signup
+    // Endpoint to save employee during Signup. As in login, the BCrypt hash runs on the password hashing pool and
+    // the request thread is released while it waits (429 when the pool is saturated). Saving the account then
+    // runs on accountIoExecutor, so the hashing threads go straight back to hashing.
     @PostMapping
-    public ResponseEntity<?> createEmployee(@Valid @RequestBody Employee employee) {
+    public CompletableFuture<ResponseEntity<?>> createEmployee(@Valid @RequestBody Employee employee) {
         Optional<Employee> existingEmployee = employeeRepository.findByEmail(employee.getEmail());
         if (existingEmployee.isPresent()) {
-            return ResponseEntity
+            return CompletableFuture.completedFuture(ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
-                    .body("Email already exists. Please login.");
-        }
-
-        // Hash the password if provided, otherwise set a placeholder (for migration)
-        if (employee.getPassword() != null) {
-            employee.setPassword(passwordEncoder.encode(employee.getPassword()));
+                    .body("Email already exists. Please login."));
         }
 
         // Assign default role if not provided
@@ -54,23 +54,34 @@ public class EmployeeController {
             employee.setRole(Role.EMPLOYEE);
         }
 
-        Employee savedEmployee = employeeRepository.save(employee);
-        
-        // Generate token for immediate login after signup
-        String token = jwtUtil.generateToken(savedEmployee.getEmail(), savedEmployee.getRole().name());
-        
-        return ResponseEntity.ok(AuthenticationResponse.builder()
-                .token(token)
-                .id(savedEmployee.getId())
-                .name(savedEmployee.getName())
-                .email(savedEmployee.getEmail())
-                .role(savedEmployee.getRole())
-                .build());
+        // Hash the password if provided, otherwise keep the placeholder (for migration)
+        CompletableFuture<String> hashed = employee.getPassword() != null
+                ? passwordHashingService.encode(employee.getPassword())
+                : CompletableFuture.completedFuture(null);
+
+        return hashed.<ResponseEntity<?>>thenApplyAsync(hash -> {
+            if (hash != null) {
+                employee.setPassword(hash);
+            }
+            Employee savedEmployee = employeeRepository.save(employee);
+
+            // Generate token for immediate login after signup
+            String token = jwtUtil.generateToken(savedEmployee.getEmail(), savedEmployee.getRole().name());
+
+            return ResponseEntity.ok(AuthenticationResponse.builder()
+                    .token(token)
+                    .id(savedEmployee.getId())
+                    .name(savedEmployee.getName())
+                    .email(savedEmployee.getEmail())
+                    .role(savedEmployee.getRole())
+                    .build());
+        }, accountIoExecutor);
     }
 
-    // New proper Login endpoint
+    // New proper Login endpoint. One employee lookup; the BCrypt check runs on the password hashing pool and
+    // the request thread is released while it waits (429 when the pool is saturated)
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
         Employee employee = employeeRepository.findByEmail(loginRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
@@ -80,24 +91,28 @@ public class EmployeeController {
             String actualRole = employee.getRole().name();
             
             if (!requestedRole.equals(actualRole)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(Map.of("message", "Incorrect User Type. Please select the correct type."));
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("message", "Incorrect User Type. Please select the correct type.")));
             }
         }
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-        );
-
-        String token = jwtUtil.generateToken(employee.getEmail(), employee.getRole().name());
-
-        return ResponseEntity.ok(AuthenticationResponse.builder()
-                .token(token)
-                .id(employee.getId())
-                .name(employee.getName())
-                .email(employee.getEmail())
-                .role(employee.getRole())
-                .build());
+        return passwordHashingService.matches(loginRequest.getPassword(), employee.getPassword())
+                .<ResponseEntity<?>>thenApply(matches -> {
+                    if (!matches) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                .body(new ErrorResponse("AUTH_FAILED", "Invalid email or password"));
+                    }
+
+                    String token = jwtUtil.generateToken(employee.getEmail(), employee.getRole().name());
+
+                    return ResponseEntity.ok(AuthenticationResponse.builder()
+                            .token(token)
+                            .id(employee.getId())
+                            .name(employee.getName())
+                            .email(employee.getEmail())
+                            .role(employee.getRole())
+                            .build());
+                });
     }
 
     // Endpoint to fetch employee by email during Login (Keeping for backward compatibility, but it's now deprecated)
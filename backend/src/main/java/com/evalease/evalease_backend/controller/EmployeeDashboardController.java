@@ -1,6 +1,5 @@
 package com.evalease.evalease_backend.controller;
 
-import com.evalease.evalease_backend.dto.DashboardFormDTO;
 import com.evalease.evalease_backend.dto.GenericResponseDTO;
 import com.evalease.evalease_backend.service.EmployeeDashboardService;
 
@@ -9,7 +8,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,19 +17,30 @@ public class EmployeeDashboardController {
     @Autowired
     private EmployeeDashboardService employeeDashboardService;
 
+    // Pending and completed forms, nearest deadline first, one page of each plus their totals
    @GetMapping("/forms/{employeeId}")
-    public ResponseEntity<GenericResponseDTO<Map<String, List<DashboardFormDTO>>>> getFormsForEmployee(@PathVariable Long employeeId) {
+    public ResponseEntity<GenericResponseDTO<Map<String, Object>>> getFormsForEmployee(@PathVariable Long employeeId,
+                                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                                       @RequestParam(defaultValue = "50") int size) {
         try {
-            Map<String, List<DashboardFormDTO>> forms = employeeDashboardService.getFormsForEmployee(employeeId);
+            Map<String, Object> forms = employeeDashboardService.getFormsForEmployee(employeeId, page, size);
             return ResponseEntity.ok(
-                GenericResponseDTO.<Map<String, List<DashboardFormDTO>>>builder()
+                GenericResponseDTO.<Map<String, Object>>builder()
                     .success(true)
                     .data(forms)
                     .build()
             );
+        } catch (IllegalArgumentException ex) {
+            // Unknown employee
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                GenericResponseDTO.<Map<String, Object>>builder()
+                    .success(false)
+                    .error(ex.getMessage())
+                    .build()
+            );
         } catch (Exception ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                GenericResponseDTO.<Map<String, List<DashboardFormDTO>>>builder()
+                GenericResponseDTO.<Map<String, Object>>builder()
                     .success(false)
                     .error("Failed to retrieve forms: " + ex.getMessage())
                     .build()
@@ -39,19 +48,31 @@ public class EmployeeDashboardController {
         }
     }
 
+    // Keyset-paged feedback history, newest first; pass nextCursor back as cursor, formId narrows to one form
     @GetMapping("/submissions/{employeeId}/details")
-    public ResponseEntity<GenericResponseDTO<List<Map<String, Object>>>> getEmployeeFeedbackHistory(@PathVariable Long employeeId) {
+    public ResponseEntity<GenericResponseDTO<Map<String, Object>>> getEmployeeFeedbackHistory(@PathVariable Long employeeId,
+                                                                                              @RequestParam(required = false) Long formId,
+                                                                                              @RequestParam(required = false) String cursor,
+                                                                                              @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<Map<String, Object>> history = employeeDashboardService.getEmployeeFeedbackHistory(employeeId);
+            Map<String, Object> history = employeeDashboardService.getEmployeeFeedbackHistory(employeeId, formId, cursor, limit);
             return ResponseEntity.ok(
-                GenericResponseDTO.<List<Map<String, Object>>>builder()
+                GenericResponseDTO.<Map<String, Object>>builder()
                     .success(true)
                     .data(history)
                     .build()
             );
+        } catch (IllegalArgumentException ex) {
+            // Malformed cursor or unknown employee: the request is wrong, not the server
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                GenericResponseDTO.<Map<String, Object>>builder()
+                    .success(false)
+                    .error(ex.getMessage())
+                    .build()
+            );
         } catch (Exception ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                GenericResponseDTO.<List<Map<String, Object>>>builder()
+                GenericResponseDTO.<Map<String, Object>>builder()
                     .success(false)
                     .error("Failed to retrieve history: " + ex.getMessage())
                     .build()
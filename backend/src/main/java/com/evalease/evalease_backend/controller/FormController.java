@@ -1,16 +1,16 @@
 package com.evalease.evalease_backend.controller;
 
+import com.evalease.evalease_backend.dto.FormCatalogQuery;
 import com.evalease.evalease_backend.dto.FormDTO;
 import com.evalease.evalease_backend.dto.RecentFormDTO;
 import com.evalease.evalease_backend.entity.Form;
+import com.evalease.evalease_backend.service.FormCatalogService;
 import com.evalease.evalease_backend.service.FormService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import com.evalease.evalease_backend.repository.FormRepository; 
-import com.evalease.evalease_backend.dto.FormSummaryDTO;
-import java.time.Instant;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +21,12 @@ public class FormController {
     @Autowired
     private FormService formService;
 
+    @Autowired
+    private ConditionalResponses conditionalResponses;
+
+    @Autowired
+    private FormCatalogService formCatalogService;
+
     @PostMapping
     public ResponseEntity<?> createForm(@RequestBody FormDTO formDTO) {
         try {
@@ -31,16 +37,15 @@ public class FormController {
         }
     }
 
+    // Paged catalog: ?category=&title=<prefix>&createdFrom=&createdTo=&deadlineFrom=&deadlineTo=&sort=&page=&size=
     @GetMapping
-    public ResponseEntity<List<Form>> getAllForms() {
-        List<Form> forms = formService.getAllForms();
-        return ResponseEntity.ok(forms);
+    public ResponseEntity<Map<String, Object>> getAllForms(FormCatalogQuery query, WebRequest request) {
+        return conditionalResponses.forAllForms("forms", request, () -> formCatalogService.search(query));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<FormDTO> getFormById(@PathVariable Long id) {
-        FormDTO formDTO = formService.getFormDTOById(id);
-        return ResponseEntity.ok(formDTO);
+    public ResponseEntity<FormDTO> getFormById(@PathVariable Long id, WebRequest request) {
+        return conditionalResponses.forFormDefinition("form", id, request, formService::toFormDTO);
     }
 
     @PutMapping("/{id}")
@@ -65,13 +70,9 @@ public class FormController {
         }
     }
 
-    @Autowired
-    private FormRepository formRepository;
-    
     @GetMapping("/recent")
-    public ResponseEntity<List<RecentFormDTO>> getRecentForms() {
-        List<RecentFormDTO> recentForms = formService.getRecentForms();
-        return ResponseEntity.ok(recentForms);
+    public ResponseEntity<List<RecentFormDTO>> getRecentForms(WebRequest request) {
+        return conditionalResponses.forAllForms("recent-forms", request, formService::getRecentForms);
     }
 
 }
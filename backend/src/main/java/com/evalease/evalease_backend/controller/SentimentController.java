@@ -8,9 +8,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.*;
 import com.evalease.evalease_backend.dto.SentimentRequest;
 import com.evalease.evalease_backend.dto.SentimentResult;
+import com.evalease.evalease_backend.config.BoundedExecutor;
+import com.evalease.evalease_backend.service.SentimentBackfillService;
+import com.evalease.evalease_backend.service.SentimentBatcher;
+import com.evalease.evalease_backend.service.SentimentCache;
+import com.evalease.evalease_backend.service.SentimentClient;
+import com.evalease.evalease_backend.service.SentimentJobService;
 import com.evalease.evalease_backend.service.SentimentService;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/sentiment")
@@ -19,11 +27,81 @@ public class SentimentController {
     @Autowired
     private SentimentService sentimentService;
 
+    @Autowired
+    private SentimentCache sentimentCache;
+
+    @Autowired
+    private SentimentBatcher sentimentBatcher;
+
+    @Autowired
+    private List<BoundedExecutor> executors;
+
+    @Autowired
+    private SentimentClient sentimentClient;
+
+    @Autowired
+    private SentimentJobService sentimentJobService;
+
+    @Autowired
+    private SentimentBackfillService sentimentBackfillService;
+
     @PostMapping("/sentiment")
     public SentimentResult getSentiment(@RequestBody SentimentRequest request) {
     	return sentimentService.analyzeSentiment(request.getText());
 
     }
-    
 
+    @GetMapping("/cache/stats")
+    public Map<String, Object> getCacheStats() {
+        return sentimentCache.getStats();
+    }
+
+    @GetMapping("/batch/stats")
+    public Map<String, Object> getBatchStats() {
+        return sentimentBatcher.getStats();
+    }
+
+    // Circuit breaker state and transitions, bulkhead usage
+    @GetMapping("/client/stats")
+    public Map<String, Object> getClientStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("engine", sentimentService.getEngineName());
+        stats.putAll(sentimentClient.getStats());
+        return stats;
+    }
+
+    // Queue depth, active threads and rejections of the sentiment executors
+    @GetMapping("/executors/stats")
+    public Map<String, Object> getExecutorStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (BoundedExecutor executor : executors) {
+            stats.put(executor.getName(), executor.getStats());
+        }
+        return stats;
+    }
+
+    // Queue depth and lag per lane, worker throughput, retries and dead letters
+    @GetMapping("/jobs/stats")
+    public Map<String, Object> getJobStats() {
+        return sentimentJobService.getStats();
+    }
+
+    @PostMapping("/jobs/dead/requeue")
+    public Map<String, Object> requeueDeadJobs() {
+        return Map.of("requeued", sentimentJobService.requeueDead());
+    }
+
+    // Starts a backfill pass over responses missing a score; restart=true begins again from the first response
+    @PostMapping("/backfill")
+    public Map<String, Object> startBackfill(@RequestParam(defaultValue = "false") boolean restart) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("started", sentimentBackfillService.start(restart));
+        result.put("status", sentimentBackfillService.getStatus());
+        return result;
+    }
+
+    @GetMapping("/backfill/stats")
+    public Map<String, Object> getBackfillStats() {
+        return sentimentBackfillService.getStatus();
+    }
 }
@@ -0,0 +1,17 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+// Row of the grouped (question, answer) count query
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerCountDTO {
+
+    private Long questionId;
+    private String questionType;
+    private String answer;
+    private Long count;
+
+}
@@ -23,6 +23,16 @@ public class DashboardFormDTO {
         this.category = category;
     }
 
+    // JPQL projection for pending forms
+    public DashboardFormDTO(Long id, String title, String description, java.time.Instant createdAt, java.time.Instant deadline, String category) {
+        this(id, title, description, createdAt != null ? createdAt.toString() : null, null, deadline, category);
+    }
+
+    // JPQL projection for completed forms, with the employee's latest submission time
+    public DashboardFormDTO(Long id, String title, String description, java.time.Instant createdAt, java.time.Instant deadline, String category, LocalDateTime submittedAt) {
+        this(id, title, description, createdAt != null ? createdAt.toString() : null, submittedAt, deadline, category);
+    }
+
     public static DashboardFormDTOBuilder builder() {
         return new DashboardFormDTOBuilder();
     }
@@ -0,0 +1,16 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+// Stored signature of every form's analytics inputs, see FormRollupRepository.findDataSignature
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataSignatureDTO {
+
+    private Long forms;
+    private Long maxFormId;
+    private Long versionSum;
+
+}
@@ -0,0 +1,21 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+// One form in the catalog: its own columns only, no questions or responses
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormCatalogItemDTO {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String category;
+    private Instant createdAt;
+    private Instant deadline;
+
+}
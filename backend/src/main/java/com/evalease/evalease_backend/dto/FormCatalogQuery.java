@@ -0,0 +1,19 @@
+package com.evalease.evalease_backend.dto;
+
+import java.time.Instant;
+
+/**
+ * Catalog filters bound from query parameters; every one is optional.
+ * title is a prefix, the date bounds are ISO-8601 instants (from inclusive, to exclusive) and
+ * sort is createdAt, deadline or title with an optional ",asc" / ",desc" (default createdAt,desc).
+ */
+public record FormCatalogQuery(String category,
+                               String title,
+                               Instant createdFrom,
+                               Instant createdTo,
+                               Instant deadlineFrom,
+                               Instant deadlineTo,
+                               String sort,
+                               Integer page,
+                               Integer size) {
+}
@@ -0,0 +1,28 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+// One (form, question, option) row of a form definition; the form columns repeat on every row
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormDefinitionRowDTO {
+
+    private Long formId;
+    private String formTitle;
+    private String description;
+    private Instant createdAt;
+    private Instant deadline;
+    private String category;
+    private Instant updatedAt;
+    private Long questionId;
+    private String questionTitle;
+    private String type;
+    private Boolean required; // null on the row of a form without questions
+    private Integer ratingScale;
+    private String option;
+
+}
@@ -0,0 +1,38 @@
+package com.evalease.evalease_backend.dto;
+
+public class FormLeaderboardDTO {
+    private Long formId;
+    private String title;
+    private long responseCount;
+    private double averageRating;
+    private double averageSentiment;
+
+    public FormLeaderboardDTO() {}
+
+    public FormLeaderboardDTO(Long formId, String title, long responseCount, double averageRating, double averageSentiment) {
+        this.formId = formId;
+        this.title = title;
+        this.responseCount = responseCount;
+        this.averageRating = averageRating;
+        this.averageSentiment = averageSentiment;
+    }
+
+    // Used by the rollup leaderboard query
+    public FormLeaderboardDTO(Long formId, String title, Long responseCount,
+                              Double ratingSum, Long ratingCount, Double sentimentSum, Long sentimentCount) {
+        this(formId, title, responseCount,
+                ratingCount > 0 ? Math.min(5.0, ratingSum / ratingCount) : 0.0,
+                sentimentCount > 0 ? sentimentSum / sentimentCount : 0.0);
+    }
+
+    public Long getFormId() { return formId; }
+    public void setFormId(Long formId) { this.formId = formId; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public long getResponseCount() { return responseCount; }
+    public void setResponseCount(long responseCount) { this.responseCount = responseCount; }
+    public double getAverageRating() { return averageRating; }
+    public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
+    public double getAverageSentiment() { return averageSentiment; }
+    public void setAverageSentiment(double averageSentiment) { this.averageSentiment = averageSentiment; }
+}
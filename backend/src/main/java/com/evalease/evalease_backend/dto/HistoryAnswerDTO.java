@@ -0,0 +1,17 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+// Flat answer row (with its question title) for the submissions on one history page
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryAnswerDTO {
+
+    private Long submittedFormId;
+    private String question;
+    private String answer;
+    private Double sentimentScore;
+
+}
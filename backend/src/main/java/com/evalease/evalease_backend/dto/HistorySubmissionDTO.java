@@ -0,0 +1,19 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Flat submission row for one page of an employee's feedback history
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistorySubmissionDTO {
+
+    private Long submissionId;
+    private Long formId;
+    private String formTitle;
+    private LocalDateTime submittedAt;
+
+}
@@ -0,0 +1,21 @@
+package com.evalease.evalease_backend.dto;
+
+import java.util.List;
+
+public class SentimentBatchRequest {
+    private List<String> texts;
+
+    public SentimentBatchRequest() {}
+
+    public SentimentBatchRequest(List<String> texts) {
+        this.texts = texts;
+    }
+
+    public List<String> getTexts() {
+        return texts;
+    }
+
+    public void setTexts(List<String> texts) {
+        this.texts = texts;
+    }
+}
@@ -0,0 +1,21 @@
+package com.evalease.evalease_backend.dto;
+
+import java.util.List;
+
+public class SentimentBatchResponse {
+    private List<SentimentResult> results;
+
+    public SentimentBatchResponse() {}
+
+    public SentimentBatchResponse(List<SentimentResult> results) {
+        this.results = results;
+    }
+
+    public List<SentimentResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SentimentResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,19 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+// Row of the grouped per-question sentiment bucket query
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SentimentBucketCountDTO {
+
+    private Long questionId;
+    private Long positive;
+    private Long negative;
+    private Long neutral;
+    private Long unscored;
+    private Double scoreSum;
+
+}
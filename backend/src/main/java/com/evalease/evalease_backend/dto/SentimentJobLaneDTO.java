@@ -0,0 +1,19 @@
+package com.evalease.evalease_backend.dto;
+
+import com.evalease.evalease_backend.entity.SentimentJob;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SentimentJobLaneDTO {
+
+    private SentimentJob.Status status;
+    private int priority;
+    private long jobs;
+    private Instant oldestCreatedAt;
+
+}
@@ -0,0 +1,17 @@
+package com.evalease.evalease_backend.dto;
+
+import lombok.*;
+
+// Flat response row used by the streaming exports
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionAnswerDTO {
+
+    private Long submittedFormId;
+    private Long questionId;
+    private String answer;
+    private Double sentimentScore;
+
+}
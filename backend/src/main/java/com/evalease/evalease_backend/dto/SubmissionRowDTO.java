@@ -0,0 +1,20 @@
+package com.evalease.evalease_backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import lombok.*;
+
+// Flat submission row used by the streaming exports
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionRowDTO {
+
+    private Long id;
+    private String employeeName;
+    private String employeeEmail;
+    private LocalDateTime submittedAt;
+    private Instant changedAt;
+
+}
@@ -0,0 +1,47 @@
+package com.evalease.evalease_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Progress of a named keyset backfill: the last id handled, committed together with each chunk so a
+ * restarted instance resumes where the previous one stopped.
+ */
+@Entity
+@Table(name = "backfill_checkpoint")
+public class BackfillCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    private long processed;
+    private Instant startedAt;
+    private Instant updatedAt;
+    // Null while a pass is in progress
+    private Instant completedAt;
+
+    public BackfillCheckpoint() {}
+
+    public BackfillCheckpoint(String name, Instant startedAt) {
+        this.name = name;
+        this.startedAt = startedAt;
+        this.updatedAt = startedAt;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getLastId() { return lastId; }
+    public void setLastId(long lastId) { this.lastId = lastId; }
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
@@ -11,7 +11,8 @@ import jakarta.validation.constraints.Size;
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.EMPLOYEE)
+    @SequenceGenerator(name = IdSequences.EMPLOYEE, sequenceName = IdSequences.EMPLOYEE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Name is required")
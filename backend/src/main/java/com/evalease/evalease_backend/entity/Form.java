@@ -6,12 +6,19 @@ import java.util.List;
 import java.time.Instant;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_form_category_created", columnList = "category, created_at"),
+        @Index(name = "idx_form_created", columnList = "created_at"),
+        @Index(name = "idx_form_deadline", columnList = "deadline")
+})
 public class Form {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.FORM)
+    @SequenceGenerator(name = IdSequences.FORM, sequenceName = IdSequences.FORM, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
+    // The unique index backs the title check on save and the catalog's title prefix search
     @Column(unique = true)
     private String title;
 
@@ -19,6 +26,8 @@ public class Form {
     private Instant createdAt;
     private Instant deadline;
     private String category;
+    // Last change to the definition (fields, questions, options); null on forms never edited since it was added
+    private Instant updatedAt;
 
     @OneToMany(mappedBy = "form", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
@@ -57,6 +66,8 @@ public class Form {
     public void setDeadline(Instant deadline) { this.deadline = deadline; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
     public List<Question> getQuestions() { return questions; }
     public void setQuestions(List<Question> questions) { this.questions = questions; }
     public List<Response> getResponses() { return responses; }
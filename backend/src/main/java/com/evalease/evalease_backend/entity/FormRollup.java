@@ -0,0 +1,64 @@
+package com.evalease.evalease_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Per-form counters maintained incrementally on every submission and sentiment write-back,
+ * so dashboards never have to scan raw responses. Rebuilt by AnalyticsRollupService.
+ *
+ * dataVersion goes up by one in every transaction that changes the form's analytics inputs (submission,
+ * sentiment write-back, rebuild, definition edit), so every instance reads the same version from the row.
+ */
+@Entity
+@Table(name = "form_rollup")
+public class FormRollup {
+
+    @Id
+    private Long formId;
+
+    private long submissionCount;
+    private LocalDateTime lastSubmittedAt;
+
+    private long positiveCount;
+    private long negativeCount;
+    private long neutralCount;
+
+    // Leaderboard inputs: sums and counts so averages stay exact under incremental updates
+    private double ratingSum;
+    private long ratingCount;
+    private double sentimentSum;
+    private long sentimentCount;
+
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long dataVersion;
+
+    public FormRollup() {}
+
+    public FormRollup(Long formId) {
+        this.formId = formId;
+    }
+
+    public Long getFormId() { return formId; }
+    public void setFormId(Long formId) { this.formId = formId; }
+    public long getSubmissionCount() { return submissionCount; }
+    public void setSubmissionCount(long submissionCount) { this.submissionCount = submissionCount; }
+    public LocalDateTime getLastSubmittedAt() { return lastSubmittedAt; }
+    public void setLastSubmittedAt(LocalDateTime lastSubmittedAt) { this.lastSubmittedAt = lastSubmittedAt; }
+    public long getPositiveCount() { return positiveCount; }
+    public void setPositiveCount(long positiveCount) { this.positiveCount = positiveCount; }
+    public long getNegativeCount() { return negativeCount; }
+    public void setNegativeCount(long negativeCount) { this.negativeCount = negativeCount; }
+    public long getNeutralCount() { return neutralCount; }
+    public void setNeutralCount(long neutralCount) { this.neutralCount = neutralCount; }
+    public double getRatingSum() { return ratingSum; }
+    public void setRatingSum(double ratingSum) { this.ratingSum = ratingSum; }
+    public long getRatingCount() { return ratingCount; }
+    public void setRatingCount(long ratingCount) { this.ratingCount = ratingCount; }
+    public double getSentimentSum() { return sentimentSum; }
+    public void setSentimentSum(double sentimentSum) { this.sentimentSum = sentimentSum; }
+    public long getSentimentCount() { return sentimentCount; }
+    public void setSentimentCount(long sentimentCount) { this.sentimentCount = sentimentCount; }
+    public long getDataVersion() { return dataVersion; }
+    public void setDataVersion(long dataVersion) { this.dataVersion = dataVersion; }
+}
@@ -0,0 +1,34 @@
+package com.evalease.evalease_backend.entity;
+
+import java.util.Map;
+
+/**
+ * Sequence-backed ids. Unlike IDENTITY they let Hibernate batch inserts; each sequence hands out blocks of
+ * ALLOCATION_SIZE ids (pooled optimizer). MySQL has no sequences, so Hibernate keeps them as one-row tables.
+ */
+public final class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String EMPLOYEE = "employee_seq";
+    public static final String FORM = "form_seq";
+    public static final String QUESTION = "question_seq";
+    public static final String OPTION_ITEM = "option_item_seq";
+    public static final String SUBMITTED_FORM = "submitted_form_seq";
+    public static final String RESPONSE = "response_seq";
+    public static final String QUESTION_ROLLUP = "question_rollup_seq";
+    public static final String SENTIMENT_JOB = "sentiment_job_seq";
+
+    // Sequence name -> table whose ids it generates, aligned past existing ids at startup
+    public static final Map<String, String> TABLES = Map.of(
+            EMPLOYEE, "employee",
+            FORM, "form",
+            QUESTION, "question",
+            OPTION_ITEM, "option_item",
+            SUBMITTED_FORM, "submitted_form",
+            RESPONSE, "response",
+            QUESTION_ROLLUP, "question_rollup",
+            SENTIMENT_JOB, "sentiment_job");
+
+    private IdSequences() {}
+}
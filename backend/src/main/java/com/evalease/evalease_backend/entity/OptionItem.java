@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class OptionItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.OPTION_ITEM)
+    @SequenceGenerator(name = IdSequences.OPTION_ITEM, sequenceName = IdSequences.OPTION_ITEM, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     private String value;
@@ -9,7 +9,8 @@ import java.util.List;
 public class Question {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.QUESTION)
+    @SequenceGenerator(name = IdSequences.QUESTION, sequenceName = IdSequences.QUESTION, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     private String title;
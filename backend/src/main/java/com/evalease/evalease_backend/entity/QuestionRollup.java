@@ -0,0 +1,52 @@
+package com.evalease.evalease_backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Count of answers per (question, option). Choice and rating questions are keyed by the
+ * answer value, text questions by sentiment bucket (Positive / Negative / Neutral).
+ */
+@Entity
+@Table(name = "question_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_question_rollup_option", columnNames = {"question_id", "option_value"}),
+        indexes = @Index(name = "idx_question_rollup_form", columnList = "form_id"))
+public class QuestionRollup {
+
+    public static final int MAX_OPTION_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.QUESTION_ROLLUP)
+    @SequenceGenerator(name = IdSequences.QUESTION_ROLLUP, sequenceName = IdSequences.QUESTION_ROLLUP, allocationSize = IdSequences.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId;
+
+    @Column(name = "option_value", nullable = false, length = MAX_OPTION_LENGTH)
+    private String optionValue;
+
+    private long responseCount;
+
+    public QuestionRollup() {}
+
+    public QuestionRollup(Long formId, Long questionId, String optionValue, long responseCount) {
+        this.formId = formId;
+        this.questionId = questionId;
+        this.optionValue = optionValue;
+        this.responseCount = responseCount;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getFormId() { return formId; }
+    public void setFormId(Long formId) { this.formId = formId; }
+    public Long getQuestionId() { return questionId; }
+    public void setQuestionId(Long questionId) { this.questionId = questionId; }
+    public String getOptionValue() { return optionValue; }
+    public void setOptionValue(String optionValue) { this.optionValue = optionValue; }
+    public long getResponseCount() { return responseCount; }
+    public void setResponseCount(long responseCount) { this.responseCount = responseCount; }
+}
@@ -6,7 +6,8 @@ import jakarta.persistence.*;
 public class Response {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.RESPONSE)
+    @SequenceGenerator(name = IdSequences.RESPONSE, sequenceName = IdSequences.RESPONSE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(columnDefinition = "TEXT")
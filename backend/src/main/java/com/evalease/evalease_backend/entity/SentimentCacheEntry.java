@@ -0,0 +1,43 @@
+package com.evalease.evalease_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Persistent tier of the sentiment cache. The id is "<modelVersion>:<sha-256 of the normalized text>",
+ * so entries scored by an older model are simply never looked up again.
+ */
+@Entity
+@Table(name = "sentiment_cache")
+public class SentimentCacheEntry {
+
+    @Id
+    @Column(length = 128)
+    private String id;
+
+    private String modelVersion;
+    private String polarity;
+    private double score;
+    private Instant createdAt;
+
+    public SentimentCacheEntry() {}
+
+    public SentimentCacheEntry(String id, String modelVersion, String polarity, double score, Instant createdAt) {
+        this.id = id;
+        this.modelVersion = modelVersion;
+        this.polarity = polarity;
+        this.score = score;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getModelVersion() { return modelVersion; }
+    public void setModelVersion(String modelVersion) { this.modelVersion = modelVersion; }
+    public String getPolarity() { return polarity; }
+    public void setPolarity(String polarity) { this.polarity = polarity; }
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
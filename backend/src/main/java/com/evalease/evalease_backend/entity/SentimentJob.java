@@ -0,0 +1,86 @@
+package com.evalease.evalease_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Outbox row asking for one response to be sentiment-scored. Written in the same transaction as the response,
+ * claimed by SentimentJobWorker and deleted once the score is stored.
+ */
+@Entity
+@Table(name = "sentiment_job",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sentiment_job_response", columnNames = "response_id"),
+        indexes = @Index(name = "idx_sentiment_job_claim", columnList = "status, priority, available_at"))
+public class SentimentJob {
+
+    // Lower runs first
+    public static final int PRIORITY_FRESH = 0;
+    public static final int PRIORITY_BACKFILL = 1;
+
+    public static final int MAX_ERROR_LENGTH = 500;
+
+    public enum Status { PENDING, RUNNING, DEAD }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.SENTIMENT_JOB)
+    @SequenceGenerator(name = IdSequences.SENTIMENT_JOB, sequenceName = IdSequences.SENTIMENT_JOB, allocationSize = IdSequences.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "response_id", nullable = false)
+    private Long responseId;
+
+    @Column(nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    private int attempts;
+
+    // Not claimable before this time (retry backoff)
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    // Worker holding a RUNNING job and when its lease runs out; expired leases are claimed again
+    @Column(length = 128)
+    private String lockedBy;
+    private Instant lockedUntil;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public SentimentJob() {}
+
+    public SentimentJob(Long responseId, int priority, Instant now) {
+        this.responseId = responseId;
+        this.priority = priority;
+        this.status = Status.PENDING;
+        this.availableAt = now;
+        this.createdAt = now;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getResponseId() { return responseId; }
+    public void setResponseId(Long responseId) { this.responseId = responseId; }
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public Instant getAvailableAt() { return availableAt; }
+    public void setAvailableAt(Instant availableAt) { this.availableAt = availableAt; }
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+    public Instant getLockedUntil() { return lockedUntil; }
+    public void setLockedUntil(Instant lockedUntil) { this.lockedUntil = lockedUntil; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -3,14 +3,22 @@ package com.evalease.evalease_backend.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_submitted_form_form_id", columnList = "form_id, id"),
+        @Index(name = "idx_submitted_form_employee_form", columnList = "employee_id, form_id"),
+        @Index(name = "idx_submitted_form_employee_time", columnList = "employee_id, submitted_at, id"),
+        @Index(name = "idx_submitted_form_form_changed", columnList = "form_id, changed_at, id")
+})
 public class SubmittedForm {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.SUBMITTED_FORM)
+    @SequenceGenerator(name = IdSequences.SUBMITTED_FORM, sequenceName = IdSequences.SUBMITTED_FORM, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -22,8 +30,14 @@ public class SubmittedForm {
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
+    @Column(name = "submitted_at")
     private LocalDateTime submittedAt;
 
+    // Set on insert and whenever one of its answers is scored; the NDJSON export's watermark (submittedAt is
+    // backdated by imports and ids don't follow commit order)
+    @Column(name = "changed_at")
+    private Instant changedAt;
+
     @OneToMany(mappedBy = "submittedForm", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<Response> responses;
@@ -38,6 +52,11 @@ public class SubmittedForm {
         this.responses = responses;
     }
 
+    @PrePersist
+    void stampChangedAt() {
+        if (changedAt == null) changedAt = Instant.now();
+    }
+
     public static SubmittedFormBuilder builder() {
         return new SubmittedFormBuilder();
     }
@@ -50,6 +69,8 @@ public class SubmittedForm {
     public void setEmployee(Employee employee) { this.employee = employee; }
     public LocalDateTime getSubmittedAt() { return submittedAt; }
     public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
     public List<Response> getResponses() { return responses; }
     public void setResponses(List<Response> responses) { this.responses = responses; }
 
@@ -0,0 +1,28 @@
+package com.evalease.evalease_backend.event;
+
+/**
+ * Published after a response's sentiment score has been written back.
+ * previousScore is non-null when an already scored response was re-scored.
+ */
+public class SentimentScoredEvent {
+
+    private final Long formId;
+    private final Long questionId;
+    private final Long responseId;
+    private final Double previousScore;
+    private final double score;
+
+    public SentimentScoredEvent(Long formId, Long questionId, Long responseId, Double previousScore, double score) {
+        this.formId = formId;
+        this.questionId = questionId;
+        this.responseId = responseId;
+        this.previousScore = previousScore;
+        this.score = score;
+    }
+
+    public Long getFormId() { return formId; }
+    public Long getQuestionId() { return questionId; }
+    public Long getResponseId() { return responseId; }
+    public Double getPreviousScore() { return previousScore; }
+    public double getScore() { return score; }
+}
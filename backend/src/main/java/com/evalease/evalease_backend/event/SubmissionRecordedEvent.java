@@ -0,0 +1,44 @@
+package com.evalease.evalease_backend.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published once a form submission and its responses have been saved.
+ * Carries flat values only so listeners never touch detached entities.
+ */
+public class SubmissionRecordedEvent {
+
+    private final Long formId;
+    private final Long submittedFormId;
+    private final LocalDateTime submittedAt;
+    private final List<Answer> answers;
+
+    public SubmissionRecordedEvent(Long formId, Long submittedFormId, LocalDateTime submittedAt, List<Answer> answers) {
+        this.formId = formId;
+        this.submittedFormId = submittedFormId;
+        this.submittedAt = submittedAt;
+        this.answers = answers;
+    }
+
+    public Long getFormId() { return formId; }
+    public Long getSubmittedFormId() { return submittedFormId; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public List<Answer> getAnswers() { return answers; }
+
+    public static class Answer {
+        private final Long questionId;
+        private final String questionType;
+        private final String answer;
+
+        public Answer(Long questionId, String questionType, String answer) {
+            this.questionId = questionId;
+            this.questionType = questionType;
+            this.answer = answer;
+        }
+
+        public Long getQuestionId() { return questionId; }
+        public String getQuestionType() { return questionType; }
+        public String getAnswer() { return answer; }
+    }
+}
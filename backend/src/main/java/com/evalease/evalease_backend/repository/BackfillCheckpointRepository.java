@@ -0,0 +1,18 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.entity.BackfillCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+
+    // Serializes chunks of the same backfill across instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BackfillCheckpoint c WHERE c.name = :name")
+    Optional<BackfillCheckpoint> findForUpdate(@Param("name") String name);
+}
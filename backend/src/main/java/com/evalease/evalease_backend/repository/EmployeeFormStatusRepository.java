@@ -1,10 +1,17 @@
 package com.evalease.evalease_backend.repository;
 
+import com.evalease.evalease_backend.dto.DashboardFormDTO;
+import com.evalease.evalease_backend.dto.HistorySubmissionDTO;
 import com.evalease.evalease_backend.entity.Employee;
 import com.evalease.evalease_backend.entity.SubmittedForm;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +22,80 @@ public interface EmployeeFormStatusRepository extends JpaRepository<SubmittedFor
 
     // Finds a specific submitted form by its original form ID and the submitting Employee
     Optional<SubmittedForm> findByFormIdAndEmployee(Long formId, Employee employee);
-}
\ No newline at end of file
+
+    // Forms the employee has not submitted: anti-join on idx_submitted_form_employee_form, nearest deadline first
+    @Query(value = """
+        SELECT new com.evalease.evalease_backend.dto.DashboardFormDTO(
+            f.id, f.title, f.description, f.createdAt, f.deadline, f.category)
+        FROM Form f
+        WHERE NOT EXISTS (
+            SELECT 1 FROM SubmittedForm sf WHERE sf.form.id = f.id AND sf.employee.id = :employeeId)
+        ORDER BY CASE WHEN f.deadline IS NULL THEN 1 ELSE 0 END, f.deadline, f.id
+        """,
+        countQuery = """
+        SELECT COUNT(f) FROM Form f
+        WHERE NOT EXISTS (
+            SELECT 1 FROM SubmittedForm sf WHERE sf.form.id = f.id AND sf.employee.id = :employeeId)
+        """)
+    Page<DashboardFormDTO> findPendingForms(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    // Forms the employee has submitted, with the latest submission time when a form was submitted more than once
+    @Query(value = """
+        SELECT new com.evalease.evalease_backend.dto.DashboardFormDTO(
+            f.id, f.title, f.description, f.createdAt, f.deadline, f.category, MAX(sf.submittedAt))
+        FROM SubmittedForm sf JOIN sf.form f
+        WHERE sf.employee.id = :employeeId
+        GROUP BY f.id, f.title, f.description, f.createdAt, f.deadline, f.category
+        ORDER BY CASE WHEN f.deadline IS NULL THEN 1 ELSE 0 END, f.deadline, f.id
+        """,
+        countQuery = """
+        SELECT COUNT(DISTINCT sf.form.id) FROM SubmittedForm sf WHERE sf.employee.id = :employeeId
+        """)
+    Page<DashboardFormDTO> findCompletedForms(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    // First page of the employee's history, newest first (idx_submitted_form_employee_time)
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.HistorySubmissionDTO(sf.id, f.id, f.title, sf.submittedAt)
+        FROM SubmittedForm sf JOIN sf.form f
+        WHERE sf.employee.id = :employeeId
+        ORDER BY sf.submittedAt DESC, sf.id DESC
+        """)
+    List<HistorySubmissionDTO> findHistoryFirstPage(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    // Next keyset page: submissions strictly older than the last row of the previous page
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.HistorySubmissionDTO(sf.id, f.id, f.title, sf.submittedAt)
+        FROM SubmittedForm sf JOIN sf.form f
+        WHERE sf.employee.id = :employeeId
+          AND (sf.submittedAt < :beforeAt OR (sf.submittedAt = :beforeAt AND sf.id < :beforeId))
+        ORDER BY sf.submittedAt DESC, sf.id DESC
+        """)
+    List<HistorySubmissionDTO> findHistoryPageBefore(@Param("employeeId") Long employeeId,
+                                                     @Param("beforeAt") LocalDateTime beforeAt,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Pageable pageable);
+
+    // Same pages for one form; idx_submitted_form_employee_form narrows them to the employee's submissions of it
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.HistorySubmissionDTO(sf.id, f.id, f.title, sf.submittedAt)
+        FROM SubmittedForm sf JOIN sf.form f
+        WHERE sf.employee.id = :employeeId AND f.id = :formId
+        ORDER BY sf.submittedAt DESC, sf.id DESC
+        """)
+    List<HistorySubmissionDTO> findFormHistoryFirstPage(@Param("employeeId") Long employeeId,
+                                                        @Param("formId") Long formId,
+                                                        Pageable pageable);
+
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.HistorySubmissionDTO(sf.id, f.id, f.title, sf.submittedAt)
+        FROM SubmittedForm sf JOIN sf.form f
+        WHERE sf.employee.id = :employeeId AND f.id = :formId
+          AND (sf.submittedAt < :beforeAt OR (sf.submittedAt = :beforeAt AND sf.id < :beforeId))
+        ORDER BY sf.submittedAt DESC, sf.id DESC
+        """)
+    List<HistorySubmissionDTO> findFormHistoryPageBefore(@Param("employeeId") Long employeeId,
+                                                         @Param("formId") Long formId,
+                                                         @Param("beforeAt") LocalDateTime beforeAt,
+                                                         @Param("beforeId") Long beforeId,
+                                                         Pageable pageable);
+}
@@ -2,6 +2,8 @@ package com.evalease.evalease_backend.repository;
 
 import com.evalease.evalease_backend.entity.Employee;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +12,6 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     boolean existsByEmail(String email);
 
     Optional<Employee> findByEmail(String email);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
 }
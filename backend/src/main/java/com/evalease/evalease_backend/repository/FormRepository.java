@@ -1,6 +1,7 @@
 package com.evalease.evalease_backend.repository;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
+import com.evalease.evalease_backend.dto.FormDefinitionRowDTO;
 import com.evalease.evalease_backend.dto.RecentFormDTO;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,13 +14,42 @@ import java.util.List;
 @Repository
 public interface FormRepository extends JpaRepository<Form, Long> {
 
-    @Query("SELECT DISTINCT f FROM Form f " +
-            "LEFT JOIN FETCH f.questions q " +
-            "LEFT JOIN FETCH q.options " +
-            "WHERE f.id = :id")
-    Optional<Form> findFormWithQuestionsAndOptions(@Param("id") Long id);
+    // The whole definition of one form in a single query: a row per option (or per question without options),
+    // in question and option id order. Empty when the form doesn't exist.
+    @Query("""
+SELECT new com.evalease.evalease_backend.dto.FormDefinitionRowDTO(
+    f.id, f.title, f.description, f.createdAt, f.deadline, f.category, f.updatedAt,
+    q.id, q.title, q.type, q.required, q.ratingScale, o.value
+)
+FROM Form f
+LEFT JOIN f.questions q
+LEFT JOIN q.options o
+WHERE f.id = :id
+ORDER BY q.id, o.id
+""")
+    List<FormDefinitionRowDTO> findFormDefinitionRows(@Param("id") Long id);
 
     Optional<Form> findByTitle(String title);
+
+    // Both answered from the unique title index
+    boolean existsByTitle(String title);
+
+    boolean existsByTitleAndIdNot(String title, Long id);
+    // Response counts come from the maintained form_rollup row instead of a join over all submissions
+    @Query("""
+SELECT new com.evalease.evalease_backend.dto.RecentFormDTO(
+    f.id,
+    f.title,
+    f.createdAt,
+    COALESCE(r.submissionCount, 0L)
+)
+FROM Form f
+LEFT JOIN FormRollup r ON r.formId = f.id
+ORDER BY f.createdAt DESC
+""")
+List<RecentFormDTO> findTop5RecentFormsWithResponseCount(Pageable pageable);
+
+    // Used when analytics rollups are disabled
     @Query("""
 SELECT new com.evalease.evalease_backend.dto.RecentFormDTO(
     f.id,
@@ -32,7 +62,39 @@ LEFT JOIN SubmittedForm sf ON sf.form = f
 GROUP BY f.id, f.title, f.createdAt
 ORDER BY f.createdAt DESC
 """)
-List<RecentFormDTO> findTop5RecentFormsWithResponseCount(Pageable pageable);
+List<RecentFormDTO> findTop5RecentFormsWithLiveResponseCount(Pageable pageable);
+
+    // Every form with its response count in one statement, from the form_rollup rows
+    @Query("""
+SELECT new com.evalease.evalease_backend.dto.RecentFormDTO(
+    f.id,
+    f.title,
+    f.createdAt,
+    COALESCE(r.submissionCount, 0L)
+)
+FROM Form f
+LEFT JOIN FormRollup r ON r.formId = f.id
+ORDER BY f.id
+""")
+    List<RecentFormDTO> findAllWithResponseCount();
+
+    // Used when analytics rollups are disabled: one grouped count on idx_submitted_form_form_id
+    @Query("""
+SELECT new com.evalease.evalease_backend.dto.RecentFormDTO(
+    f.id,
+    f.title,
+    f.createdAt,
+    COUNT(sf)
+)
+FROM Form f
+LEFT JOIN SubmittedForm sf ON sf.form = f
+GROUP BY f.id, f.title, f.createdAt
+ORDER BY f.id
+""")
+    List<RecentFormDTO> findAllWithLiveResponseCount();
+
+    @Query("SELECT f.id FROM Form f")
+    List<Long> findAllIds();
 
     @Query("SELECT COUNT(f) FROM Form f")
     int countAllForms();
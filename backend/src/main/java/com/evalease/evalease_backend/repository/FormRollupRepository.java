@@ -0,0 +1,93 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.dto.DataSignatureDTO;
+import com.evalease.evalease_backend.dto.FormLeaderboardDTO;
+import com.evalease.evalease_backend.entity.FormRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface FormRollupRepository extends JpaRepository<FormRollup, Long> {
+
+    // Row lock held until commit; the UPDATEs below wait for it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM FormRollup r WHERE r.formId = :formId")
+    Optional<FormRollup> findForUpdate(@Param("formId") Long formId);
+
+    // Returns the number of rows touched, 0 means the rollup row does not exist yet
+    @Modifying
+    @Query("""
+        UPDATE FormRollup r SET
+            r.submissionCount = r.submissionCount + :delta,
+            r.ratingSum = r.ratingSum + :ratingSum,
+            r.ratingCount = r.ratingCount + :ratingCount,
+            r.lastSubmittedAt = CASE WHEN r.lastSubmittedAt IS NULL OR r.lastSubmittedAt < :submittedAt
+                                     THEN :submittedAt ELSE r.lastSubmittedAt END,
+            r.dataVersion = r.dataVersion + 1
+        WHERE r.formId = :formId
+        """)
+    int addSubmissions(@Param("formId") Long formId,
+                       @Param("delta") long delta,
+                       @Param("submittedAt") LocalDateTime submittedAt,
+                       @Param("ratingSum") double ratingSum,
+                       @Param("ratingCount") long ratingCount);
+
+    @Modifying
+    @Query("""
+        UPDATE FormRollup r SET
+            r.positiveCount = r.positiveCount + :positive,
+            r.negativeCount = r.negativeCount + :negative,
+            r.neutralCount = r.neutralCount + :neutral,
+            r.sentimentSum = r.sentimentSum + :sentimentSum,
+            r.sentimentCount = r.sentimentCount + :sentimentCount,
+            r.dataVersion = r.dataVersion + 1
+        WHERE r.formId = :formId
+        """)
+    int addSentiment(@Param("formId") Long formId,
+                     @Param("positive") long positive,
+                     @Param("negative") long negative,
+                     @Param("neutral") long neutral,
+                     @Param("sentimentSum") double sentimentSum,
+                     @Param("sentimentCount") long sentimentCount);
+
+    // For changes outside the counters (definition edits); 0 when the rollup row does not exist yet
+    @Modifying
+    @Query("UPDATE FormRollup r SET r.dataVersion = r.dataVersion + 1 WHERE r.formId = :formId")
+    int bumpDataVersion(@Param("formId") Long formId);
+
+    // Empty when the form does not exist; 0 for a form without a rollup row
+    @Query("""
+        SELECT COALESCE(r.dataVersion, 0L)
+        FROM Form f LEFT JOIN FormRollup r ON r.formId = f.id
+        WHERE f.id = :formId
+        """)
+    Optional<Long> findDataVersion(@Param("formId") Long formId);
+
+    // Changes whenever any form is created, deleted or has its dataVersion bumped: ids only grow and each
+    // dataVersion only grows, so equal (count, max id, sum) means the same forms at the same versions
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.DataSignatureDTO(
+            COUNT(f), COALESCE(MAX(f.id), 0L), COALESCE(SUM(r.dataVersion), 0L))
+        FROM Form f LEFT JOIN FormRollup r ON r.formId = f.id
+        """)
+    DataSignatureDTO findDataSignature();
+
+    // Every form with its rollup (zeros for forms without submissions) in one query
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.FormLeaderboardDTO(
+            f.id, f.title,
+            COALESCE(r.submissionCount, 0L),
+            COALESCE(r.ratingSum, 0.0), COALESCE(r.ratingCount, 0L),
+            COALESCE(r.sentimentSum, 0.0), COALESCE(r.sentimentCount, 0L))
+        FROM Form f LEFT JOIN FormRollup r ON r.formId = f.id
+        ORDER BY f.id
+        """)
+    List<FormLeaderboardDTO> findLeaderboard();
+}
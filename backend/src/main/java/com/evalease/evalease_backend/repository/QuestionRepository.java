@@ -11,4 +11,6 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
 
     // Fetch all questions for a given form ID (if needed in your logic)
     List<Question> findByFormId(Long formId);
+
+    List<Question> findByFormIdOrderByIdAsc(Long formId);
 }
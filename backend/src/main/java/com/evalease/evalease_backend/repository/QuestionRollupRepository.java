@@ -0,0 +1,26 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.entity.QuestionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface QuestionRollupRepository extends JpaRepository<QuestionRollup, Long> {
+
+    List<QuestionRollup> findByFormId(Long formId);
+
+    // Returns the number of rows touched, 0 means the option has not been seen yet
+    @Modifying
+    @Query("UPDATE QuestionRollup r SET r.responseCount = r.responseCount + :delta " +
+            "WHERE r.questionId = :questionId AND r.optionValue = :optionValue")
+    int addCount(@Param("questionId") Long questionId,
+                 @Param("optionValue") String optionValue,
+                 @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM QuestionRollup r WHERE r.formId = :formId")
+    int deleteByFormId(@Param("formId") Long formId);
+}
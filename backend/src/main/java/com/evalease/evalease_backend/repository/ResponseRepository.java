@@ -1,7 +1,15 @@
 package com.evalease.evalease_backend.repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import com.evalease.evalease_backend.dto.AnswerCountDTO;
+import com.evalease.evalease_backend.dto.SentimentBucketCountDTO;
+import com.evalease.evalease_backend.dto.HistoryAnswerDTO;
+import com.evalease.evalease_backend.dto.SubmissionAnswerDTO;
 import com.evalease.evalease_backend.entity.Response;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -9,6 +17,71 @@ public interface ResponseRepository extends JpaRepository<Response, Long> {
     
     List<Response> findByQuestionId(Long questionId);
 
+    // Question (and its form) are needed outside a transaction by the async sentiment task
+    @Query("SELECT r FROM Response r JOIN FETCH r.question q JOIN FETCH q.form WHERE r.id = :id")
+    Optional<Response> findWithQuestionById(@Param("id") Long id);
+
+    @Query("SELECT r FROM Response r JOIN FETCH r.question q JOIN FETCH q.form WHERE r.id IN :ids")
+    List<Response> findWithQuestionByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Response r SET r.sentimentScore = :score WHERE r.id = :id")
+    int updateSentimentScore(@Param("id") Long id, @Param("score") Double score);
+
+    // One row per (question, distinct answer) for every non-text question of the form
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.AnswerCountDTO(q.id, q.type, r.answer, COUNT(r))
+        FROM Response r JOIN r.question q
+        WHERE q.form.id = :formId
+          AND r.answer IS NOT NULL
+          AND LOWER(q.type) NOT IN ('text', 'textarea', 'paragraph')
+        GROUP BY q.id, q.type, r.answer
+        """)
+    List<AnswerCountDTO> countAnswersByFormId(@Param("formId") Long formId);
+
+    // Sentiment buckets per text question, same thresholds as AnalyticsRollupService.sentimentBucket
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.SentimentBucketCountDTO(
+            q.id,
+            SUM(CASE WHEN r.sentimentScore > 0.1 THEN 1L ELSE 0L END),
+            SUM(CASE WHEN r.sentimentScore < -0.1 THEN 1L ELSE 0L END),
+            SUM(CASE WHEN r.sentimentScore >= -0.1 AND r.sentimentScore <= 0.1 THEN 1L ELSE 0L END),
+            SUM(CASE WHEN r.sentimentScore IS NULL THEN 1L ELSE 0L END),
+            COALESCE(SUM(r.sentimentScore), 0.0))
+        FROM Response r JOIN r.question q
+        WHERE q.form.id = :formId
+          AND LOWER(q.type) IN ('text', 'textarea', 'paragraph')
+        GROUP BY q.id
+        """)
+    List<SentimentBucketCountDTO> countSentimentBucketsByFormId(@Param("formId") Long formId);
+
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.SubmissionAnswerDTO(r.submittedForm.id, r.question.id, r.answer, r.sentimentScore)
+        FROM Response r
+        WHERE r.submittedForm.id IN :submittedFormIds
+        """)
+    List<SubmissionAnswerDTO> findAnswersBySubmittedFormIds(@Param("submittedFormIds") Collection<Long> submittedFormIds);
+
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.HistoryAnswerDTO(r.submittedForm.id, q.title, r.answer, r.sentimentScore)
+        FROM Response r JOIN r.question q
+        WHERE r.submittedForm.id IN :submittedFormIds
+        ORDER BY r.submittedForm.id, q.id
+        """)
+    List<HistoryAnswerDTO> findHistoryAnswersBySubmittedFormIds(@Param("submittedFormIds") Collection<Long> submittedFormIds);
+
+    // Next keyset chunk of text answers without a score that are not already queued for scoring
+    @Query("""
+        SELECT r.id FROM Response r JOIN r.question q
+        WHERE r.id > :afterId
+          AND r.sentimentScore IS NULL
+          AND r.answer IS NOT NULL
+          AND LOWER(q.type) IN ('text', 'textarea', 'paragraph')
+          AND NOT EXISTS (SELECT j.id FROM SentimentJob j WHERE j.responseId = r.id)
+        ORDER BY r.id
+        """)
+    List<Long> findUnscoredTextResponseIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     @Query("SELECT COUNT(r) FROM Response r WHERE r.submittedForm.form.id = :formId")
     long countByFormId(@Param("formId") Long formId);
     long countBySubmittedForm_Form_Id(Long formId);
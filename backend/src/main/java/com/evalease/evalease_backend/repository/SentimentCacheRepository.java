@@ -0,0 +1,7 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.entity.SentimentCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SentimentCacheRepository extends JpaRepository<SentimentCacheEntry, String> {
+}
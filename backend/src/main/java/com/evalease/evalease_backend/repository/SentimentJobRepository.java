@@ -0,0 +1,76 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.dto.SentimentJobLaneDTO;
+import com.evalease.evalease_backend.entity.SentimentJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface SentimentJobRepository extends JpaRepository<SentimentJob, Long> {
+
+    // Row-locks the next claimable jobs, skipping rows another instance has locked (PostgreSQL and MySQL 8)
+    @Query(value = """
+        SELECT id FROM sentiment_job
+        WHERE (status = 'PENDING' AND available_at <= :now)
+           OR (status = 'RUNNING' AND locked_until < :now)
+        ORDER BY priority, available_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<Long> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+        UPDATE SentimentJob j
+        SET j.status = :running, j.lockedBy = :worker, j.lockedUntil = :leaseUntil, j.attempts = j.attempts + 1
+        WHERE j.id IN :ids
+        """)
+    int markRunning(@Param("ids") Collection<Long> ids,
+                    @Param("running") SentimentJob.Status running,
+                    @Param("worker") String worker,
+                    @Param("leaseUntil") Instant leaseUntil);
+
+    // Only the worker still holding the lease may finish a job
+    @Modifying
+    @Query("DELETE FROM SentimentJob j WHERE j.id IN :ids AND j.lockedBy = :worker")
+    int deleteClaimed(@Param("ids") Collection<Long> ids, @Param("worker") String worker);
+
+    @Modifying
+    @Query("""
+        UPDATE SentimentJob j
+        SET j.status = :status, j.availableAt = :availableAt, j.lockedBy = NULL, j.lockedUntil = NULL, j.lastError = :error
+        WHERE j.id = :id AND j.lockedBy = :worker
+        """)
+    int release(@Param("id") Long id,
+                @Param("worker") String worker,
+                @Param("status") SentimentJob.Status status,
+                @Param("availableAt") Instant availableAt,
+                @Param("error") String error);
+
+    @Modifying
+    @Query("""
+        UPDATE SentimentJob j
+        SET j.status = :pending, j.attempts = 0, j.availableAt = :now, j.lastError = NULL
+        WHERE j.status = :dead
+        """)
+    int requeueDead(@Param("pending") SentimentJob.Status pending,
+                    @Param("dead") SentimentJob.Status dead,
+                    @Param("now") Instant now);
+
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.SentimentJobLaneDTO(j.status, j.priority, COUNT(j), MIN(j.createdAt))
+        FROM SentimentJob j
+        GROUP BY j.status, j.priority
+        """)
+    List<SentimentJobLaneDTO> summarizeLanes();
+
+    long countByStatusAndPriority(SentimentJob.Status status, int priority);
+
+    // Jobs a worker could claim now (idx_sentiment_job_claim); ones waiting out a retry backoff are left out
+    long countByStatusAndPriorityAndAvailableAtLessThanEqual(SentimentJob.Status status, int priority, Instant now);
+}
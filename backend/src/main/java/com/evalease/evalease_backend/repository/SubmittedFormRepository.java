@@ -1,9 +1,15 @@
 package com.evalease.evalease_backend.repository;
 
+import com.evalease.evalease_backend.dto.SubmissionRowDTO;
 import com.evalease.evalease_backend.entity.SubmittedForm;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -14,4 +20,54 @@ public interface SubmittedFormRepository extends JpaRepository<SubmittedForm, Lo
 
     @Query("SELECT COUNT(sf) FROM SubmittedForm sf WHERE sf.form.id = :formId")
     long countByFormId(@Param("formId") Long formId);
+
+    @Query("SELECT MAX(sf.submittedAt) FROM SubmittedForm sf WHERE sf.form.id = :formId")
+    LocalDateTime findLatestSubmittedAtByFormId(@Param("formId") Long formId);
+
+    // Keyset page for exports: submissions with id > afterId, smallest ids first
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.SubmissionRowDTO(
+            sf.id, e.name, e.email, sf.submittedAt, sf.changedAt)
+        FROM SubmittedForm sf LEFT JOIN sf.employee e
+        WHERE sf.form.id = :formId AND sf.id > :afterId
+        ORDER BY sf.id
+        """)
+    List<SubmissionRowDTO> findExportPage(@Param("formId") Long formId,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    // Keyset page for incremental exports: submissions changed in (since, until], oldest change first
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.SubmissionRowDTO(
+            sf.id, e.name, e.email, sf.submittedAt, sf.changedAt)
+        FROM SubmittedForm sf LEFT JOIN sf.employee e
+        WHERE sf.form.id = :formId
+          AND sf.changedAt > :since AND sf.changedAt <= :until
+        ORDER BY sf.changedAt, sf.id
+        """)
+    List<SubmissionRowDTO> findChangedPage(@Param("formId") Long formId,
+                                           @Param("since") Instant since,
+                                           @Param("until") Instant until,
+                                           Pageable pageable);
+
+    // Next keyset page: after the (changedAt, id) of the last row of the previous page
+    @Query("""
+        SELECT new com.evalease.evalease_backend.dto.SubmissionRowDTO(
+            sf.id, e.name, e.email, sf.submittedAt, sf.changedAt)
+        FROM SubmittedForm sf LEFT JOIN sf.employee e
+        WHERE sf.form.id = :formId
+          AND (sf.changedAt > :afterAt OR (sf.changedAt = :afterAt AND sf.id > :afterId))
+          AND sf.changedAt <= :until
+        ORDER BY sf.changedAt, sf.id
+        """)
+    List<SubmissionRowDTO> findChangedPageAfter(@Param("formId") Long formId,
+                                                @Param("afterAt") Instant afterAt,
+                                                @Param("afterId") Long afterId,
+                                                @Param("until") Instant until,
+                                                Pageable pageable);
+
+    // Marks submissions as changed so the next incremental export sends them again (e.g. once scored)
+    @Modifying
+    @Query("UPDATE SubmittedForm sf SET sf.changedAt = :at WHERE sf.id IN :ids")
+    int markChanged(@Param("ids") Collection<Long> ids, @Param("at") Instant at);
 }
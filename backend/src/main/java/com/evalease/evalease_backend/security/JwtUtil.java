@@ -1,6 +1,7 @@
 package com.evalease.evalease_backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,32 +11,83 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs. The signing key and the parser are built once and shared; both are immutable and
+ * thread-safe. verify() parses a token once and returns everything the request path needs, and recently
+ * verified tokens are remembered until they expire so a client's repeat requests skip the HMAC check.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final int verifiedCacheMaxEntries;
+    private final Map<String, VerifiedToken> verifiedTokens;
 
-    private SecretKey getSigningKey() {
+    // Claims used by the request path, taken from one verified parse
+    public record VerifiedToken(String subject, String role, Date expiration) {
+        public boolean isExpired(long nowMillis) {
+            return expiration != null && expiration.getTime() <= nowMillis;
+        }
+    }
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${security.jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
         if (secret == null || secret.length() < 32) {
             throw new RuntimeException("JWT Secret is too short. It must be at least 256 bits (32 characters). Current length: " + (secret != null ? secret.length() : 0));
         }
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedCacheMaxEntries = verifiedCacheMaxEntries;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > JwtUtil.this.verifiedCacheMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * Verifies the signature and expiry of a token and returns its claims.
+     * Throws io.jsonwebtoken.JwtException for a bad or expired token, like the parser does.
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        if (verifiedCacheMaxEntries > 0) {
+            VerifiedToken cached;
+            synchronized (verifiedTokens) {
+                cached = verifiedTokens.get(token);
+            }
+            if (cached != null && !cached.isExpired(now)) {
+                return cached;
+            }
+        }
+
+        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class), claims.getExpiration());
+        // Tokens without an expiry are never cached: they would stay valid here forever
+        if (verifiedCacheMaxEntries > 0 && verified.expiration() != null) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(token, verified);
+            }
+        }
+        return verified;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -44,15 +96,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(String username, String role) {
@@ -67,12 +111,12 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return verified.subject().equals(username) && !verified.isExpired(System.currentTimeMillis());
     }
 }
@@ -0,0 +1,60 @@
+package com.evalease.evalease_backend.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived, size-bounded LRU cache of loaded users for the "lookup" auth mode. A deleted user or a changed
+ * role takes effect within ttl-seconds while each user costs at most one query per TTL; 0 disables the cache.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries;
+
+    private record Entry(UserDetails user, long expiresAtMillis) {}
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          @Value("${security.jwt.principal-cache.ttl-seconds:30}") long ttlSeconds,
+                          @Value("${security.jwt.principal-cache.max-entries:10000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Throws UsernameNotFoundException like UserDetailsService; misses are not cached
+    public UserDetails load(String email) {
+        if (ttlMillis <= 0) {
+            return userDetailsService.loadUserByUsername(email);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null && entry.expiresAtMillis() > now) {
+                return entry.user();
+            }
+        }
+
+        UserDetails user = userDetailsService.loadUserByUsername(email);
+        synchronized (entries) {
+            entries.put(email, new Entry(user, now + ttlMillis));
+        }
+        return user;
+    }
+}
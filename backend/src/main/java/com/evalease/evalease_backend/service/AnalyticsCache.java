@@ -0,0 +1,195 @@
+package com.evalease.evalease_backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for expensive per-form analytics results, keyed by (name, formId) and tagged
+ * with the form's data version from DataVersionService.
+ *
+ * - same version: served from cache
+ * - older version: the stale value is served while a single background refresh recomputes it
+ * - absent: computed on the caller thread; concurrent callers for the same key wait for that one computation
+ *
+ * getVersioned also reports the version of the value it returns (older than the current one for a stale hit),
+ * so HTTP validators can be derived from what is actually served.
+ *
+ * Loaders run in a read-only transaction, so lazy associations work on background threads too.
+ * Disable with analytics.cache.enabled=false to compare against the uncached path.
+ */
+@Service
+public class AnalyticsCache {
+
+    public record Versioned<T>(long version, T value) {
+
+        public <R> Versioned<R> map(Function<T, R> mapper) {
+            return new Versioned<>(version, mapper.apply(value));
+        }
+    }
+
+    private static final class Entry {
+        final long version;
+        final Object value;
+
+        Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    private final DataVersionService dataVersions;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries;
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+
+    public AnalyticsCache(DataVersionService dataVersions,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${analytics.cache.enabled:true}") boolean enabled,
+                          @Value("${analytics.cache.max-entries:500}") int maxEntries,
+                          @Value("${analytics.cache.refresh-threads:2}") int refreshThreads) {
+        this.dataVersions = dataVersions;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AnalyticsCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxEntries),
+                r -> {
+                    Thread t = new Thread(r, "analytics-cache-refresh-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                // A dropped refresh is retried by the next read of the stale entry
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public <T> T get(String name, Long formId, Supplier<T> loader) {
+        return getVersioned(name, formId, loader).value();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Versioned<T> getVersioned(String name, Long formId, Supplier<T> loader) {
+        long version = dataVersions.formVersion(formId);
+        if (!enabled) {
+            // Read before loading, so the data is at least this new
+            return new Versioned<>(version, loader.get());
+        }
+
+        String key = name + ":" + formId;
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            if (entry.version == version) {
+                hits.incrementAndGet();
+            } else {
+                staleHits.incrementAndGet();
+                if (!inFlight.containsKey(key)) {
+                    refreshExecutor.execute(() -> load(key, version, loader));
+                }
+            }
+            return new Versioned<>(entry.version, (T) entry.value);
+        }
+
+        misses.incrementAndGet();
+        try {
+            // A refresh already running for this key may be for an older version; its entry says which
+            Entry loaded = load(key, version, loader).join();
+            return new Versioned<>(loaded.version, (T) loaded.value);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Entry> load(String key, long version, Supplier<?> loader) {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            loads.incrementAndGet();
+            Entry loaded = new Entry(version, readOnlyTx.execute(status -> loader.get()));
+            synchronized (entries) {
+                Entry current = entries.get(key);
+                if (current == null || current.version <= version) {
+                    entries.put(key, loaded);
+                }
+            }
+            mine.complete(loaded);
+        } catch (RuntimeException e) {
+            loadFailures.incrementAndGet();
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+        return mine;
+    }
+
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long lookups = hits.get() + staleHits.get() + misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("staleHits", staleHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups > 0 ? (double) (hits.get() + staleHits.get()) / lookups : 0.0);
+        stats.put("evictions", evictions.get());
+        stats.put("loads", loads.get());
+        stats.put("loadFailures", loadFailures.get());
+        stats.put("refreshQueue", refreshExecutor.getQueue().size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
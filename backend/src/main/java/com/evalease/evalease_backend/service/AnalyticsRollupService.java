@@ -0,0 +1,355 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.AnswerCountDTO;
+import com.evalease.evalease_backend.dto.FormLeaderboardDTO;
+import com.evalease.evalease_backend.dto.SentimentBucketCountDTO;
+import com.evalease.evalease_backend.entity.FormRollup;
+import com.evalease.evalease_backend.entity.QuestionRollup;
+import com.evalease.evalease_backend.event.SentimentScoredEvent;
+import com.evalease.evalease_backend.event.SubmissionRecordedEvent;
+import com.evalease.evalease_backend.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Maintains the form_rollup / question_rollup tables so analytics reads are proportional
+ * to the number of questions instead of the number of responses ever submitted.
+ *
+ * Updates run after the submitting transaction commits, each in its own transaction.
+ * If an update is lost (crash between commit and listener), rebuildForm / rebuildAll
+ * recompute the rollups from the raw Response rows.
+ *
+ * Every update touches the form_rollup row before any question_rollup row, and a rebuild
+ * holds that row locked from its first read to its commit, so updates for the form queue
+ * behind a running rebuild instead of landing in rows it is about to replace.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final FormRepository formRepository;
+    private final FormRollupRepository formRollupRepository;
+    private final QuestionRollupRepository questionRollupRepository;
+    private final ResponseRepository responseRepository;
+    private final SubmittedFormRepository submittedFormRepository;
+    private final DataVersionService dataVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${analytics.rollups.enabled:true}")
+    private boolean enabled;
+
+    public AnalyticsRollupService(FormRepository formRepository,
+                                  FormRollupRepository formRollupRepository,
+                                  QuestionRollupRepository questionRollupRepository,
+                                  ResponseRepository responseRepository,
+                                  SubmittedFormRepository submittedFormRepository,
+                                  DataVersionService dataVersions,
+                                  PlatformTransactionManager transactionManager) {
+        this.formRepository = formRepository;
+        this.formRollupRepository = formRollupRepository;
+        this.questionRollupRepository = questionRollupRepository;
+        this.responseRepository = responseRepository;
+        this.submittedFormRepository = submittedFormRepository;
+        this.dataVersions = dataVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isTextType(String type) {
+        return type != null && (type.equalsIgnoreCase("paragraph") || type.equalsIgnoreCase("text") || type.equalsIgnoreCase("textarea"));
+    }
+
+    // Same thresholds as EmbeddedSentimentEngine.score and the Python service
+    public static String sentimentBucket(double score) {
+        if (score > 0.1) return "Positive";
+        if (score < -0.1) return "Negative";
+        return "Neutral";
+    }
+
+    // Keys an answer contributes to. Text answers are bucketed later, once their sentiment is known.
+    public static List<String> optionKeys(String type, String answer) {
+        if (answer == null || isTextType(type)) {
+            return List.of();
+        }
+        if (type != null && type.equalsIgnoreCase("checkbox")) {
+            List<String> keys = new ArrayList<>();
+            for (String opt : answer.split(",")) {
+                keys.add(truncate(opt.trim()));
+            }
+            return keys;
+        }
+        return List.of(truncate(answer));
+    }
+
+    private static String truncate(String key) {
+        return key.length() > QuestionRollup.MAX_OPTION_LENGTH ? key.substring(0, QuestionRollup.MAX_OPTION_LENGTH) : key;
+    }
+
+    // Folds grouped (question, answer) rows into per-question option counts, splitting checkbox answers
+    public static Map<Long, Map<String, Long>> foldAnswerCounts(List<AnswerCountDTO> rows) {
+        Map<Long, Map<String, Long>> counts = new HashMap<>();
+        for (AnswerCountDTO row : rows) {
+            Map<String, Long> questionCounts = counts.computeIfAbsent(row.getQuestionId(), id -> new HashMap<>());
+            for (String key : optionKeys(row.getQuestionType(), row.getAnswer())) {
+                questionCounts.merge(key, row.getCount(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    public Optional<FormRollup> getFormRollup(Long formId) {
+        return formRollupRepository.findById(formId);
+    }
+
+    public List<FormLeaderboardDTO> getLeaderboard() {
+        return formRollupRepository.findLeaderboard();
+    }
+
+    // questionId -> (option -> count) for every question of the form that has at least one answer
+    public Map<Long, Map<String, Long>> getOptionCounts(Long formId) {
+        Map<Long, Map<String, Long>> counts = new HashMap<>();
+        for (QuestionRollup row : questionRollupRepository.findByFormId(formId)) {
+            counts.computeIfAbsent(row.getQuestionId(), id -> new HashMap<>())
+                    .put(row.getOptionValue(), row.getResponseCount());
+        }
+        return counts;
+    }
+
+    // Ordered before DataVersionService so a version bump never precedes the rollup update
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionRecorded(SubmissionRecordedEvent event) {
+        if (!enabled) return;
+        runInNewTransaction("submission " + event.getSubmittedFormId(), () -> applySubmission(event));
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSentimentScored(SentimentScoredEvent event) {
+        if (!enabled) return;
+        runInNewTransaction("response " + event.getResponseId(), () -> applySentiment(event));
+    }
+
+    private void applySubmission(SubmissionRecordedEvent event) {
+        Long formId = event.getFormId();
+
+        Map<Long, Map<String, Long>> deltas = new HashMap<>();
+        double ratingSum = 0.0;
+        long ratingCount = 0;
+        for (SubmissionRecordedEvent.Answer answer : event.getAnswers()) {
+            for (String key : optionKeys(answer.getQuestionType(), answer.getAnswer())) {
+                deltas.computeIfAbsent(answer.getQuestionId(), id -> new HashMap<>()).merge(key, 1L, Long::sum);
+            }
+            Double rating = parseRating(answer.getQuestionType(), answer.getAnswer());
+            if (rating != null) {
+                ratingSum += rating;
+                ratingCount++;
+            }
+        }
+
+        if (formRollupRepository.addSubmissions(formId, 1, event.getSubmittedAt(), ratingSum, ratingCount) == 0) {
+            FormRollup rollup = new FormRollup(formId);
+            rollup.setSubmissionCount(1);
+            rollup.setLastSubmittedAt(event.getSubmittedAt());
+            rollup.setRatingSum(ratingSum);
+            rollup.setRatingCount(ratingCount);
+            rollup.setDataVersion(1);
+            formRollupRepository.saveAndFlush(rollup);
+        }
+
+        deltas.forEach((questionId, counts) ->
+                counts.forEach((key, delta) -> addOptionCount(formId, questionId, key, delta)));
+    }
+
+    private void applySentiment(SentimentScoredEvent event) {
+        long positive = 0, negative = 0, neutral = 0;
+
+        String bucket = sentimentBucket(event.getScore());
+        switch (bucket) {
+            case "Positive" -> positive++;
+            case "Negative" -> negative++;
+            default -> neutral++;
+        }
+
+        String previous = event.getPreviousScore() != null ? sentimentBucket(event.getPreviousScore()) : null;
+        if (previous != null) {
+            switch (previous) {
+                case "Positive" -> positive--;
+                case "Negative" -> negative--;
+                default -> neutral--;
+            }
+        }
+
+        double sentimentSum = event.getScore() - (event.getPreviousScore() != null ? event.getPreviousScore() : 0.0);
+        long sentimentCount = event.getPreviousScore() != null ? 0 : 1;
+
+        if (formRollupRepository.addSentiment(event.getFormId(), positive, negative, neutral, sentimentSum, sentimentCount) == 0) {
+            FormRollup rollup = new FormRollup(event.getFormId());
+            rollup.setPositiveCount(Math.max(0, positive));
+            rollup.setNegativeCount(Math.max(0, negative));
+            rollup.setNeutralCount(Math.max(0, neutral));
+            rollup.setSentimentSum(event.getScore());
+            rollup.setSentimentCount(1);
+            rollup.setDataVersion(1);
+            formRollupRepository.saveAndFlush(rollup);
+        }
+
+        // After the form row, like applySubmission
+        addOptionCount(event.getFormId(), event.getQuestionId(), bucket, 1);
+        if (previous != null) {
+            addOptionCount(event.getFormId(), event.getQuestionId(), previous, -1);
+        }
+    }
+
+    // Shared with the session analytics: non-numeric rating answers are ignored
+    static Double parseRating(String type, String answer) {
+        if (answer == null || type == null || !type.equalsIgnoreCase("rating")) return null;
+        try {
+            return Double.parseDouble(answer);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void addOptionCount(Long formId, Long questionId, String key, long delta) {
+        if (questionRollupRepository.addCount(questionId, key, delta) == 0 && delta > 0) {
+            questionRollupRepository.saveAndFlush(new QuestionRollup(formId, questionId, key, delta));
+        }
+    }
+
+    private void runInNewTransaction(String what, Runnable work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> work.run());
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent submission inserted the same rollup row first; the retry takes the update path
+                if (attempt >= MAX_ATTEMPTS) {
+                    System.err.println("Rollup update failed for " + what + " after " + attempt + " attempts: " + e.getMessage());
+                    return;
+                }
+            } catch (Exception e) {
+                System.err.println("Rollup update failed for " + what + ": " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Recomputes the rollups of one form from the raw Response rows using two grouped queries
+    public void rebuildForm(Long formId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebuildLocked(formId));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent submission inserted the rollup row first; the retry locks it instead
+                if (attempt >= MAX_ATTEMPTS) throw e;
+            }
+        }
+        dataVersions.bumpForm(formId);
+    }
+
+    private void rebuildLocked(Long formId) {
+        FormRollup locked = lockRollup(formId);
+        questionRollupRepository.deleteByFormId(formId);
+
+        FormRollup formRollup = new FormRollup(formId);
+        // The stored version only ever grows, even across rebuilds
+        formRollup.setDataVersion(locked.getDataVersion() + 1);
+        formRollup.setSubmissionCount(submittedFormRepository.countByFormId(formId));
+        formRollup.setLastSubmittedAt(submittedFormRepository.findLatestSubmittedAtByFormId(formId));
+
+        List<AnswerCountDTO> answerCounts = responseRepository.countAnswersByFormId(formId);
+        for (AnswerCountDTO row : answerCounts) {
+            Double rating = parseRating(row.getQuestionType(), row.getAnswer());
+            if (rating != null) {
+                formRollup.setRatingSum(formRollup.getRatingSum() + rating * row.getCount());
+                formRollup.setRatingCount(formRollup.getRatingCount() + row.getCount());
+            }
+        }
+
+        List<QuestionRollup> rows = new ArrayList<>();
+        foldAnswerCounts(answerCounts).forEach((questionId, counts) ->
+                counts.forEach((key, count) -> rows.add(new QuestionRollup(formId, questionId, key, count))));
+
+        for (SentimentBucketCountDTO buckets : responseRepository.countSentimentBucketsByFormId(formId)) {
+            addBucketRow(rows, formId, buckets.getQuestionId(), "Positive", buckets.getPositive());
+            addBucketRow(rows, formId, buckets.getQuestionId(), "Negative", buckets.getNegative());
+            addBucketRow(rows, formId, buckets.getQuestionId(), "Neutral", buckets.getNeutral());
+            formRollup.setPositiveCount(formRollup.getPositiveCount() + buckets.getPositive());
+            formRollup.setNegativeCount(formRollup.getNegativeCount() + buckets.getNegative());
+            formRollup.setNeutralCount(formRollup.getNeutralCount() + buckets.getNeutral());
+            formRollup.setSentimentSum(formRollup.getSentimentSum() + buckets.getScoreSum());
+            formRollup.setSentimentCount(formRollup.getSentimentCount()
+                    + buckets.getPositive() + buckets.getNegative() + buckets.getNeutral());
+        }
+
+        formRollupRepository.save(formRollup);
+        questionRollupRepository.saveAll(rows);
+    }
+
+    private FormRollup lockRollup(Long formId) {
+        Optional<FormRollup> existing = formRollupRepository.findForUpdate(formId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        // A freshly inserted row is just as locked until commit
+        return formRollupRepository.saveAndFlush(new FormRollup(formId));
+    }
+
+    private void addBucketRow(List<QuestionRollup> rows, Long formId, Long questionId, String bucket, long count) {
+        if (count > 0) {
+            rows.add(new QuestionRollup(formId, questionId, bucket, count));
+        }
+    }
+
+    public int rebuildAll() {
+        List<Long> formIds = formRepository.findAllIds();
+        for (Long formId : formIds) {
+            rebuildForm(formId);
+        }
+        return formIds.size();
+    }
+
+    // Called from FormService.updateForm inside its transaction: the question set changed, so did the analytics
+    public void bumpDataVersion(Long formId) {
+        if (!enabled) return;
+        if (formRollupRepository.bumpDataVersion(formId) == 0) {
+            FormRollup rollup = new FormRollup(formId);
+            rollup.setDataVersion(1);
+            formRollupRepository.save(rollup);
+        }
+    }
+
+    // Called from FormService.deleteForm inside its transaction
+    public void deleteForForm(Long formId) {
+        questionRollupRepository.deleteByFormId(formId);
+        formRollupRepository.deleteById(formId);
+    }
+
+    // First start after upgrading: backfill the rollups so dashboards do not show zeros
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!enabled) return;
+        if (formRollupRepository.count() == 0 && submittedFormRepository.count() > 0) {
+            System.out.println("Analytics rollups are empty, rebuilding from raw responses...");
+            int forms = rebuildAll();
+            System.out.println("Analytics rollups rebuilt for " + forms + " forms");
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.evalease.evalease_backend.service;
 
+import com.evalease.evalease_backend.dto.AnswerCountDTO;
+import com.evalease.evalease_backend.dto.FormLeaderboardDTO;
 import com.evalease.evalease_backend.dto.QuestionAnalyticsDTO;
+import com.evalease.evalease_backend.dto.SentimentBucketCountDTO;
 import com.evalease.evalease_backend.dto.SentimentResult;
 import com.evalease.evalease_backend.dto.SessionAnalyticsDTO;
 import com.evalease.evalease_backend.entity.*;
@@ -9,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class AnalyticsService {
@@ -18,91 +20,54 @@ public class AnalyticsService {
     private final SubmittedFormRepository submittedFormRepository;
     private final ResponseRepository responseRepository;
     private final QuestionRepository questionRepository;
-    private final SentimentService sentimentService;
+    private final AnalyticsRollupService rollupService;
+    private final AnalyticsCache analyticsCache;
 
     @Autowired
     public AnalyticsService(FormRepository formRepository,
                              SubmittedFormRepository submittedFormRepository,
                              ResponseRepository responseRepository,
                              QuestionRepository questionRepository,
-                             SentimentService sentimentService) {
+                             AnalyticsRollupService rollupService,
+                             AnalyticsCache analyticsCache) {
         this.formRepository = formRepository;
         this.submittedFormRepository = submittedFormRepository;
         this.responseRepository = responseRepository;
         this.questionRepository = questionRepository;
-        this.sentimentService = sentimentService;
+        this.rollupService = rollupService;
+        this.analyticsCache = analyticsCache;
     }
 
     public List<QuestionAnalyticsDTO> getQuestionAnalyticsByFormId(Long formId) {
+        return getQuestionAnalyticsVersioned(formId).value();
+    }
+
+    // With the form data version the result was computed at, for ETags
+    public AnalyticsCache.Versioned<List<QuestionAnalyticsDTO>> getQuestionAnalyticsVersioned(Long formId) {
+        return analyticsCache.getVersioned("questions", formId, () -> computeQuestionAnalytics(formId));
+    }
+
+    private List<QuestionAnalyticsDTO> computeQuestionAnalytics(Long formId) {
         List<QuestionAnalyticsDTO> analyticsList = new ArrayList<>();
 
         List<Question> questions = questionRepository.findByFormId(formId);
 
+        // Either one rollup read or a fixed number of grouped queries, never one query per question
+        Map<Long, Map<String, Long>> counts = rollupService.isEnabled()
+                ? rollupService.getOptionCounts(formId)
+                : countOptionsGrouped(formId);
+
         for (Question question : questions) {
-            String type = question.getType();
-            String title = question.getTitle();
-            Map<String, Long> optionCounts = new HashMap<>();
-
-            // Efficiently fetch only responses for the current question
-            List<Response> responses = responseRepository.findByQuestionId(question.getId());
-
-            if (type.equalsIgnoreCase("paragraph") || type.equalsIgnoreCase("text") || type.equalsIgnoreCase("textarea")) {
-                // Use cached sentiment scores if available
-                long positive = responses.stream()
-                        .filter(resp -> resp.getSentimentScore() != null && resp.getSentimentScore() > 0.1)
-                        .count();
-                long negative = responses.stream()
-                        .filter(resp -> resp.getSentimentScore() != null && resp.getSentimentScore() < -0.1)
-                        .count();
-                long neutral = responses.stream()
-                        .filter(resp -> resp.getSentimentScore() != null && resp.getSentimentScore() >= -0.1 && resp.getSentimentScore() <= 0.1)
-                        .count();
-
-                // If some responses are missing scores (e.g., from before the update), fallback to batch analysis
-                if (positive + negative + neutral < responses.size()) {
-                    List<String> textAnswers = responses.stream()
-                            .map(Response::getAnswer)
-                            .filter(Objects::nonNull)
-                            .filter(ans -> !ans.trim().isEmpty())
-                            .collect(Collectors.toList());
-
-                    if (!textAnswers.isEmpty()) {
-                        SentimentResult sentimentResult = sentimentService.analyzeSentimentBatch(textAnswers);
-                        optionCounts.put("Positive", (long) sentimentResult.getPositiveCount());
-                        optionCounts.put("Negative", (long) sentimentResult.getNegativeCount());
-                        optionCounts.put("Neutral", (long) sentimentResult.getNeutralCount());
-                    }
-                } else {
-                    optionCounts.put("Positive", positive);
-                    optionCounts.put("Negative", negative);
-                    optionCounts.put("Neutral", neutral);
-                }
-            } else if (type.equalsIgnoreCase("checkbox")) {
-                for (Response response : responses) {
-                    if (response.getAnswer() != null) {
-                        String[] selectedOptions = response.getAnswer().split(",");
-                        for (String opt : selectedOptions) {
-                            optionCounts.put(opt.trim(), optionCounts.getOrDefault(opt.trim(), 0L) + 1);
-                        }
-                    }
-                }
-            } else if (type.equalsIgnoreCase("rating")) {
-                for (Response response : responses) {
-                    if (response.getAnswer() != null) {
-                        optionCounts.put(response.getAnswer(), optionCounts.getOrDefault(response.getAnswer(), 0L) + 1);
-                    }
-                }
-            } else {
-                for (Response response : responses) {
-                    if (response.getAnswer() != null) {
-                        optionCounts.put(response.getAnswer(), optionCounts.getOrDefault(response.getAnswer(), 0L) + 1);
-                    }
-                }
+            Map<String, Long> optionCounts = new HashMap<>(counts.getOrDefault(question.getId(), Map.of()));
+            if (AnalyticsRollupService.isTextType(question.getType())) {
+                optionCounts.putIfAbsent("Positive", 0L);
+                optionCounts.putIfAbsent("Negative", 0L);
+                optionCounts.putIfAbsent("Neutral", 0L);
             }
 
             QuestionAnalyticsDTO dto = new QuestionAnalyticsDTO();
-            dto.setQuestionText(title);
-            dto.setQuestionType(type);
+            dto.setQuestionText(question.getTitle());
+            dto.setQuestionType(question.getType());
             dto.setSectionName("Section 1");
             dto.setOptionCounts(optionCounts);
 
@@ -111,64 +76,116 @@ public class AnalyticsService {
         return analyticsList;
     }
 
+    private Map<Long, Map<String, Long>> countOptionsGrouped(Long formId) {
+        Map<Long, Map<String, Long>> counts = AnalyticsRollupService.foldAnswerCounts(
+                responseRepository.countAnswersByFormId(formId));
+
+        // Only stored scores are counted; responses still missing one are queued by SentimentBackfillService
+        // and show up once scored, so reads never call the scorer
+        for (SentimentBucketCountDTO buckets : responseRepository.countSentimentBucketsByFormId(formId)) {
+            Map<String, Long> optionCounts = counts.computeIfAbsent(buckets.getQuestionId(), id -> new HashMap<>());
+            optionCounts.put("Positive", buckets.getPositive());
+            optionCounts.put("Negative", buckets.getNegative());
+            optionCounts.put("Neutral", buckets.getNeutral());
+        }
+        return counts;
+    }
+
+    // Average rating, average sentiment and response count of every form
+    public List<FormLeaderboardDTO> getFormLeaderboard() {
+        if (rollupService.isEnabled()) {
+            return rollupService.getLeaderboard();
+        }
+
+        List<FormLeaderboardDTO> leaderboard = new ArrayList<>();
+        for (Form form : formRepository.findAll()) {
+            try {
+                SessionAnalyticsDTO analytics = getSessionAnalytics(form.getId());
+                leaderboard.add(new FormLeaderboardDTO(form.getId(), form.getTitle(), analytics.getTotalResponses(),
+                        analytics.getAverageRating(), analytics.getAverageSentiment()));
+            } catch (Exception e) {
+                leaderboard.add(new FormLeaderboardDTO(form.getId(), form.getTitle(), 0, 0.0, 0.0));
+            }
+        }
+        return leaderboard;
+    }
+
     public SessionAnalyticsDTO getSessionAnalytics(Long formId) {
-        Optional<Form> formOpt = formRepository.findById(formId);
-        if (formOpt.isEmpty()) {
+        return getSessionAnalyticsVersioned(formId).value();
+    }
+
+    public AnalyticsCache.Versioned<SessionAnalyticsDTO> getSessionAnalyticsVersioned(Long formId) {
+        return analyticsCache.getVersioned("session", formId, () -> computeSessionAnalytics(formId));
+    }
+
+    // Stored counters and scores only, never the scorer: unscored answers count once SentimentBackfillService
+    // has scored them, like in the question analytics
+    private SessionAnalyticsDTO computeSessionAnalytics(Long formId) {
+        if (!formRepository.existsById(formId)) {
             throw new RuntimeException("Form not found with id: " + formId);
         }
 
-        Form form = formOpt.get();
-        List<SubmittedForm> submittedForms = submittedFormRepository.findByFormId(formId);
-
-        List<String> textAnswers = new ArrayList<>();
-        int ratingCount = 0;
-        double totalRating = 0.0;
-
-        for (SubmittedForm submittedForm : submittedForms) {
-            for (Response response : submittedForm.getResponses()) {
-                String qType = response.getQuestion().getType();
-                String ans = response.getAnswer();
-
-                if (qType.equalsIgnoreCase("text") || qType.equalsIgnoreCase("textarea") || qType.equalsIgnoreCase("paragraph")) {
-                    if (ans != null && !ans.isEmpty()) {
-                        textAnswers.add(ans);
-                    }
-                } else if (qType.equalsIgnoreCase("rating")) {
-                    try {
-                        totalRating += Double.parseDouble(ans);
-                        ratingCount++;
-                    } catch (Exception ignored) {}
+        long totalResponses;
+        double ratingSum = 0.0;
+        long ratingCount = 0;
+        SentimentResult sentiment;
+
+        if (rollupService.isEnabled()) {
+            FormRollup rollup = rollupService.getFormRollup(formId).orElseGet(() -> new FormRollup(formId));
+            totalResponses = rollup.getSubmissionCount();
+            ratingSum = rollup.getRatingSum();
+            ratingCount = rollup.getRatingCount();
+            sentiment = sentimentOf(rollup.getPositiveCount(), rollup.getNegativeCount(), rollup.getNeutralCount(),
+                    rollup.getSentimentSum());
+        } else {
+            totalResponses = submittedFormRepository.countByFormId(formId);
+            for (AnswerCountDTO row : responseRepository.countAnswersByFormId(formId)) {
+                Double rating = AnalyticsRollupService.parseRating(row.getQuestionType(), row.getAnswer());
+                if (rating != null) {
+                    ratingSum += rating * row.getCount();
+                    ratingCount += row.getCount();
                 }
             }
-        }
-
-        double avg = ratingCount > 0 ? totalRating / ratingCount : 0.0;
-        
-        SentimentResult sentimentResult;
-        try {
-            if (textAnswers.isEmpty()) {
-                sentimentResult = new SentimentResult("neutral", 0.0);
-            } else {
-                // Join all comments for a single sentiment analysis call
-                String combinedComments = String.join(" ", textAnswers);
-                sentimentResult = sentimentService.analyzeSentiment(combinedComments);
+            long positive = 0, negative = 0, neutral = 0;
+            double scoreSum = 0.0;
+            for (SentimentBucketCountDTO buckets : responseRepository.countSentimentBucketsByFormId(formId)) {
+                positive += buckets.getPositive();
+                negative += buckets.getNegative();
+                neutral += buckets.getNeutral();
+                scoreSum += buckets.getScoreSum();
             }
-        } catch (Exception e) {
-            sentimentResult = new SentimentResult("neutral", 0.0);
-        }
-        
-        if (sentimentResult == null) {
-            sentimentResult = new SentimentResult("neutral", 0.0);
+            sentiment = sentimentOf(positive, negative, neutral, scoreSum);
         }
 
+        double avg = ratingCount > 0 ? ratingSum / ratingCount : 0.0;
+        // Computed here rather than read from the cache, whose entry may still be at an older version
+        List<QuestionAnalyticsDTO> questions = computeQuestionAnalytics(formId);
+
         SessionAnalyticsDTO dto = new SessionAnalyticsDTO();
         dto.setFormId(formId);
-        dto.setQuestionCount(form.getQuestions().size());
-        dto.setTotalResponses(submittedForms.size());
+        dto.setQuestionCount(questions.size());
+        dto.setTotalResponses((int) totalResponses);
         dto.setAverageRating(Math.min(5.0, avg));
-        dto.setSentiment(sentimentResult);
-        dto.setQuestions(getQuestionAnalyticsByFormId(formId));
+        dto.setSentiment(sentiment);
+        dto.setQuestions(questions);
 
         return dto;
     }
+
+    // Mean stored score and bucket shares, with the thresholds of AnalyticsRollupService.sentimentBucket
+    private static SentimentResult sentimentOf(long positive, long negative, long neutral, double scoreSum) {
+        long scored = positive + negative + neutral;
+        if (scored == 0) {
+            return new SentimentResult("neutral", 0.0);
+        }
+
+        double avg = scoreSum / scored;
+        String polarity = avg > 0.1 ? "positive" : (avg < -0.1 ? "negative" : "neutral");
+        SentimentResult result = new SentimentResult(polarity, avg,
+                positive * 100.0 / scored, negative * 100.0 / scored, neutral * 100.0 / scored);
+        result.setPositiveCount((int) positive);
+        result.setNegativeCount((int) negative);
+        result.setNeutralCount((int) neutral);
+        return result;
+    }
 }
@@ -0,0 +1,116 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.DataSignatureDTO;
+import com.evalease.evalease_backend.event.SentimentScoredEvent;
+import com.evalease.evalease_backend.event.SubmissionRecordedEvent;
+import com.evalease.evalease_backend.repository.FormRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap per-form and global data versions. A version changes whenever something that feeds
+ * analytics changes (submission, sentiment write-back, form update or delete), so derived results
+ * can be keyed by (formId, version) instead of being invalidated explicitly.
+ *
+ * With analytics rollups enabled the versions are read from the database: a form's version is its
+ * form_rollup.data_version (one primary-key read, -1 once the form is gone) and the global version is the
+ * signature from FormRollupRepository.findDataSignature, re-read at most every signature-refresh-ms.
+ * Every instance sees the same values, so a write on one instance invalidates caches and ETags on all of them.
+ *
+ * Without rollups the versions live in memory, start at 0 on every boot and only see this instance's writes;
+ * their tags then carry a boot epoch so they never repeat across restarts.
+ */
+@Service
+public class DataVersionService {
+
+    private final FormRollupRepository formRollupRepository;
+    private final boolean stored;
+    private final long signatureRefreshMillis;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentHashMap<Long, AtomicLong> formVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private volatile String signature;
+    private volatile long signatureReadAt;
+
+    public DataVersionService(FormRollupRepository formRollupRepository,
+                              @Value("${analytics.rollups.enabled:true}") boolean rollupsEnabled,
+                              @Value("${analytics.versions.signature-refresh-ms:1000}") long signatureRefreshMillis) {
+        this.formRollupRepository = formRollupRepository;
+        this.stored = rollupsEnabled;
+        this.signatureRefreshMillis = signatureRefreshMillis;
+    }
+
+    public long formVersion(Long formId) {
+        if (stored) {
+            return formRollupRepository.findDataVersion(formId).orElse(-1L);
+        }
+        AtomicLong version = formVersions.get(formId);
+        return version != null ? version.get() : 0L;
+    }
+
+    // ETag fragment for a version returned by formVersion
+    public String formVersionTag(long version) {
+        return stored ? "r" + version : epoch + "-l" + version;
+    }
+
+    // ETag fragment for data spanning all forms
+    public String globalVersionTag() {
+        if (!stored) {
+            return epoch + "-g" + globalVersion.get();
+        }
+
+        long now = System.currentTimeMillis();
+        String current = signature;
+        if (current == null || now - signatureReadAt >= signatureRefreshMillis) {
+            DataSignatureDTO row = formRollupRepository.findDataSignature();
+            current = "s" + row.getForms() + "-" + row.getMaxFormId() + "-" + row.getVersionSum();
+            signature = current;
+            signatureReadAt = now;
+        }
+        return current;
+    }
+
+    // Deferred until commit when called inside a transaction, so nobody caches pre-commit data under the new version
+    public void bumpForm(Long formId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(formId);
+                }
+            });
+        } else {
+            increment(formId);
+        }
+    }
+
+    private void increment(Long formId) {
+        formVersions.computeIfAbsent(formId, id -> new AtomicLong()).incrementAndGet();
+        globalVersion.incrementAndGet();
+        // This instance's own writes show up in the stored signature at once; other instances' within the refresh
+        signature = null;
+    }
+
+    // Runs after the rollup listeners so a recompute triggered by the new version sees updated rollups
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubmissionRecorded(SubmissionRecordedEvent event) {
+        increment(event.getFormId());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSentimentScored(SentimentScoredEvent event) {
+        increment(event.getFormId());
+    }
+}
@@ -0,0 +1,221 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.SentimentResult;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-JVM polarity-lexicon scorer modelled on TextBlob's pattern analyzer: the score is the mean polarity of the
+ * lexicon words in the text, where a preceding intensifier ("very") multiplies a word's polarity and a
+ * preceding negation ("not", "didn't") multiplies it by -0.5.
+ *
+ * The lexicon (sentiment/lexicon.tsv) is loaded once into an open-addressing table keyed by the 64-bit FNV-1a
+ * hash of the lowercased word. Scoring hashes tokens while scanning the characters, so it allocates nothing
+ * but the returned result.
+ */
+@Component
+public class EmbeddedSentimentEngine implements SentimentEngine {
+
+    public static final String NAME = "embedded";
+
+    private static final String LEXICON = "sentiment/lexicon.tsv";
+
+    private static final byte POLARITY = 1;
+    private static final byte INTENSIFIER = 2;
+    private static final byte NEGATION = 3;
+
+    private static final double NEGATION_FACTOR = -0.5;
+    // Modifiers apply to a polarity word at most this many tokens later ("not at all good")
+    private static final int MAX_MODIFIER_GAP = 2;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long[] keys;
+    private final float[] values;
+    private final byte[] kinds;
+    private final int mask;
+    private final int size;
+
+    public EmbeddedSentimentEngine() {
+        int loaded = 0;
+        String[] entries;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(LEXICON).getInputStream(), StandardCharsets.UTF_8))) {
+            entries = reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toArray(String[]::new);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load sentiment lexicon " + LEXICON, e);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(16, entries.length * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new float[capacity];
+        this.kinds = new byte[capacity];
+        this.mask = capacity - 1;
+
+        for (String entry : entries) {
+            String[] cols = entry.split("\t");
+            if (cols.length < 3) continue;
+
+            byte kind = switch (cols[1]) {
+                case "p" -> POLARITY;
+                case "i" -> INTENSIFIER;
+                case "n" -> NEGATION;
+                default -> 0;
+            };
+            if (kind == 0) continue;
+
+            int slot = slotFor(hash(cols[0]));
+            keys[slot] = hash(cols[0]);
+            values[slot] = Float.parseFloat(cols[2]);
+            kinds[slot] = kind;
+            loaded++;
+        }
+        this.size = loaded;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public CompletableFuture<SentimentResult> scoreAsync(String text) {
+        return CompletableFuture.completedFuture(score(text));
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
+    public SentimentResult score(String text) {
+        double polarity = polarity(text);
+        // Same rounding and thresholds as the Python service
+        double score = Math.round(polarity * 1000.0) / 1000.0;
+        String label = score > 0.1 ? "positive" : (score < -0.1 ? "negative" : "neutral");
+        return new SentimentResult(label, score);
+    }
+
+    // Mean polarity in [-1, 1]; 0 when the text contains no lexicon word
+    public double polarity(CharSequence text) {
+        if (text == null) return 0.0;
+
+        double sum = 0.0;
+        int assessments = 0;
+
+        double intensity = 1.0;
+        boolean negated = false;
+        int sinceModifier = 0;
+
+        long h = FNV_OFFSET;
+        int tokenLength = 0;
+        char last = 0;
+        char beforeApostrophe = 0;
+        int lettersAfterApostrophe = -1;
+
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+
+            if (Character.isLetterOrDigit(c)) {
+                c = Character.toLowerCase(c);
+                h = (h ^ c) * FNV_PRIME;
+                tokenLength++;
+                last = c;
+                if (lettersAfterApostrophe >= 0) lettersAfterApostrophe++;
+                continue;
+            }
+            if ((c == '\'' || c == '\u2019') && tokenLength > 0) {
+                // "didn't" hashes as "didnt"; remember the shape to spot any n't contraction
+                beforeApostrophe = last;
+                lettersAfterApostrophe = 0;
+                continue;
+            }
+
+            if (tokenLength > 0) {
+                boolean contractionNegation = beforeApostrophe == 'n' && lettersAfterApostrophe == 1 && last == 't';
+                int slot = lookup(h == 0 ? 1 : h);
+                byte kind = slot >= 0 ? kinds[slot] : 0;
+
+                if (kind == NEGATION || contractionNegation) {
+                    negated = true;
+                    sinceModifier = 0;
+                } else if (kind == INTENSIFIER) {
+                    intensity *= values[slot];
+                    sinceModifier = 0;
+                } else if (kind == POLARITY) {
+                    double p = values[slot] * intensity;
+                    if (negated) p *= NEGATION_FACTOR;
+                    sum += Math.max(-1.0, Math.min(1.0, p));
+                    assessments++;
+                    intensity = 1.0;
+                    negated = false;
+                } else if (++sinceModifier > MAX_MODIFIER_GAP) {
+                    intensity = 1.0;
+                    negated = false;
+                }
+
+                h = FNV_OFFSET;
+                tokenLength = 0;
+                beforeApostrophe = 0;
+                lettersAfterApostrophe = -1;
+            }
+
+            // Modifiers don't reach across clause punctuation
+            if (c == '.' || c == ',' || c == ';' || c == ':' || c == '!' || c == '?' || c == '(' || c == ')') {
+                intensity = 1.0;
+                negated = false;
+            }
+        }
+
+        if (assessments == 0) return 0.0;
+        return Math.max(-1.0, Math.min(1.0, sum / assessments));
+    }
+
+    public int getLexiconSize() {
+        return size;
+    }
+
+    private static long hash(String word) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == '\'' || c == '\u2019') continue;
+            h = (h ^ Character.toLowerCase(c)) * FNV_PRIME;
+        }
+        // 0 marks an empty slot
+        return h == 0 ? 1 : h;
+    }
+
+    private static int spread(long h) {
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int lookup(long h) {
+        int slot = spread(h) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == h) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Slot holding h, or the empty slot where it goes; a repeated word keeps its last value
+    private int slotFor(long h) {
+        int slot = spread(h) & mask;
+        while (keys[slot] != 0 && keys[slot] != h) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
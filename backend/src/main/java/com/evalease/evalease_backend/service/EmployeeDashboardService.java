@@ -1,16 +1,18 @@
 package com.evalease.evalease_backend.service;
 
 import com.evalease.evalease_backend.dto.DashboardFormDTO;
-import com.evalease.evalease_backend.entity.Employee;
-import com.evalease.evalease_backend.entity.Form;
-import com.evalease.evalease_backend.entity.SubmittedForm;
+import com.evalease.evalease_backend.dto.HistoryAnswerDTO;
+import com.evalease.evalease_backend.dto.HistorySubmissionDTO;
 import com.evalease.evalease_backend.repository.EmployeeRepository;
-import com.evalease.evalease_backend.repository.FormRepository;
 import com.evalease.evalease_backend.repository.EmployeeFormStatusRepository;
+import com.evalease.evalease_backend.repository.ResponseRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,79 +24,111 @@ public class EmployeeDashboardService {
     private EmployeeFormStatusRepository employeeFormStatusRepository;
 
     @Autowired
-    private FormRepository formRepository;
+    private EmployeeRepository employeeRepository;
 
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private ResponseRepository responseRepository;
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    // Pending and completed forms come from two indexed queries returning flat rows, one page of each
+    public Map<String, Object> getFormsForEmployee(Long employeeId, int page, int size) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new IllegalArgumentException("Employee not found with ID: " + employeeId);
+        }
+
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        Page<DashboardFormDTO> pendingForms = employeeFormStatusRepository.findPendingForms(employeeId, pageRequest);
+        Page<DashboardFormDTO> completedForms = employeeFormStatusRepository.findCompletedForms(employeeId, pageRequest);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pendingForms", pendingForms.getContent());
+        result.put("completedForms", completedForms.getContent());
+        result.put("pendingTotal", pendingForms.getTotalElements());
+        result.put("completedTotal", completedForms.getTotalElements());
+        result.put("page", pageRequest.getPageNumber());
+        result.put("size", pageRequest.getPageSize());
+        return result;
+    }
 
-    public Map<String, List<DashboardFormDTO>> getFormsForEmployee(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new IllegalArgumentException("Employee not found with ID: " + employeeId));
-
-        List<Form> allForms = formRepository.findAll();
-        List<SubmittedForm> submittedFormsByEmployee = employeeFormStatusRepository.findByEmployee(employee);
-
-        Map<Long, LocalDateTime> submittedFormTimestamps = submittedFormsByEmployee.stream()
-                .collect(Collectors.toMap(
-                        sf -> sf.getForm().getId(),
-                        SubmittedForm::getSubmittedAt,
-                        (existing, replacement) -> existing.isAfter(replacement) ? existing : replacement
-                ));
-
-        List<DashboardFormDTO> pendingForms = allForms.stream()
-                .filter(form -> !submittedFormTimestamps.containsKey(form.getId()))
-                .map(form -> DashboardFormDTO.builder()
-                        .id(form.getId())
-                        .title(form.getTitle())
-                        .description(form.getDescription())
-                        .createdAt(form.getCreatedAt().toString())
-                        .submittedAt(null)
-                        .deadline(form.getDeadline())
-                        .category(form.getCategory())
-                        .build())
-                .collect(Collectors.toList());
-
-        List<DashboardFormDTO> completedForms = allForms.stream()
-                .filter(form -> submittedFormTimestamps.containsKey(form.getId()))
-                .map(form -> DashboardFormDTO.builder()
-                        .id(form.getId())
-                        .title(form.getTitle())
-                        .description(form.getDescription())
-                        .createdAt(form.getCreatedAt().toString())
-                        .submittedAt(submittedFormTimestamps.get(form.getId()))
-                        .deadline(form.getDeadline())
-                        .category(form.getCategory())
-                        .build())
-                .collect(Collectors.toList());
-
-        return Map.of(
-                "pendingForms", pendingForms,
-                "completedForms", completedForms
-        );
+    /**
+     * One keyset page of the employee's submissions, newest first, each with its answers. Always three queries
+     * (employee check, page, answers of the page) however long the history is. Pass the returned nextCursor
+     * back as cursor for the following page; it is null on the last page.
+     */
+    public Map<String, Object> getEmployeeFeedbackHistory(Long employeeId, Long formId, String cursor, int limit) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new IllegalArgumentException("Employee not found");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether another page follows, without a count query
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<HistorySubmissionDTO> rows;
+        // Separate queries with and without the form filter, so neither carries a ":formId IS NULL OR" predicate
+        if (cursor == null || cursor.isBlank()) {
+            rows = formId == null
+                    ? employeeFormStatusRepository.findHistoryFirstPage(employeeId, pageRequest)
+                    : employeeFormStatusRepository.findFormHistoryFirstPage(employeeId, formId, pageRequest);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = formId == null
+                    ? employeeFormStatusRepository.findHistoryPageBefore(
+                            employeeId, after.submittedAt(), after.submissionId(), pageRequest)
+                    : employeeFormStatusRepository.findFormHistoryPageBefore(
+                            employeeId, formId, after.submittedAt(), after.submissionId(), pageRequest);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<HistorySubmissionDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, List<Map<String, Object>>> answers = new HashMap<>();
+        if (!page.isEmpty()) {
+            List<Long> ids = page.stream().map(HistorySubmissionDTO::getSubmissionId).collect(Collectors.toList());
+            for (HistoryAnswerDTO answer : responseRepository.findHistoryAnswersBySubmittedFormIds(ids)) {
+                Map<String, Object> resp = new LinkedHashMap<>();
+                resp.put("question", answer.getQuestion());
+                resp.put("answer", answer.getAnswer());
+                resp.put("sentiment", answer.getSentimentScore());
+                answers.computeIfAbsent(answer.getSubmittedFormId(), id -> new ArrayList<>()).add(resp);
+            }
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(page.size());
+        for (HistorySubmissionDTO row : page) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("submissionId", row.getSubmissionId());
+            details.put("formId", row.getFormId());
+            details.put("formTitle", row.getFormTitle());
+            details.put("submittedAt", row.getSubmittedAt());
+            details.put("responses", answers.getOrDefault(row.getSubmissionId(), List.of()));
+            items.add(details);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        HistorySubmissionDTO last = page.isEmpty() ? null : page.get(page.size() - 1);
+        result.put("nextCursor", hasMore ? new HistoryCursor(last.getSubmittedAt(), last.getSubmissionId()).encode() : null);
+        return result;
     }
 
-    public List<Map<String, Object>> getEmployeeFeedbackHistory(Long employeeId) {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new IllegalArgumentException("Employee not found"));
-
-        List<SubmittedForm> submissions = employeeFormStatusRepository.findByEmployee(employee);
-        
-        return submissions.stream().map(sf -> {
-            Map<String, Object> details = new HashMap<>();
-            details.put("submissionId", sf.getId());
-            details.put("formTitle", sf.getForm().getTitle());
-            details.put("submittedAt", sf.getSubmittedAt());
-            
-            List<Map<String, Object>> responseDetails = sf.getResponses().stream().map(r -> {
-                Map<String, Object> resp = new HashMap<>();
-                resp.put("question", r.getQuestion().getTitle());
-                resp.put("answer", r.getAnswer());
-                resp.put("sentiment", r.getSentimentScore());
-                return resp;
-            }).collect(Collectors.toList());
-            
-            details.put("responses", responseDetails);
-            return details;
-        }).collect(Collectors.toList());
+    // Opaque keyset position: submittedAt and id of the last submission on the previous page
+    record HistoryCursor(LocalDateTime submittedAt, Long submissionId) {
+
+        String encode() {
+            String raw = submittedAt + "|" + submissionId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid history cursor");
+            }
+        }
     }
 }
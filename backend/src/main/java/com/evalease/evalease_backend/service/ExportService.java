@@ -0,0 +1,222 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.SubmissionAnswerDTO;
+import com.evalease.evalease_backend.dto.SubmissionRowDTO;
+import com.evalease.evalease_backend.entity.Question;
+import com.evalease.evalease_backend.repository.QuestionRepository;
+import com.evalease.evalease_backend.repository.ResponseRepository;
+import com.evalease.evalease_backend.repository.SubmittedFormRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Streams form submissions in keyset-ordered pages of flat projections.
+ * Only one page of submissions and their answers is held in memory at a time,
+ * and the writer is flushed after every page so the client starts receiving data immediately.
+ *
+ * The incremental NDJSON export pages by the submission's changed_at rather than by id: ids come from pooled
+ * sequences and don't follow commit order, and submittedAt is backdated by imports. An export only covers
+ * changes up to its watermark, which trails the clock by watermark-lag-seconds so transactions that stamped a
+ * row earlier but commit later are still picked up by the next pull. A transaction open longer than the lag can
+ * still be missed.
+ */
+@Service
+public class ExportService {
+
+    static final int PAGE_SIZE = 500;
+
+    private final SubmittedFormRepository submittedFormRepository;
+    private final ResponseRepository responseRepository;
+    private final QuestionRepository questionRepository;
+    private final ObjectMapper objectMapper;
+    private final long watermarkLagSeconds;
+
+    public ExportService(SubmittedFormRepository submittedFormRepository,
+                         ResponseRepository responseRepository,
+                         QuestionRepository questionRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${export.ndjson.watermark-lag-seconds:120}") long watermarkLagSeconds) {
+        this.submittedFormRepository = submittedFormRepository;
+        this.responseRepository = responseRepository;
+        this.questionRepository = questionRepository;
+        this.objectMapper = objectMapper;
+        this.watermarkLagSeconds = watermarkLagSeconds;
+    }
+
+    public void writeCsv(Long formId, Writer writer) throws IOException {
+        List<Question> questions = questionRepository.findByFormIdOrderByIdAsc(formId);
+
+        // Header
+        writer.write("Submission ID,Employee Name,Employee Email,Submitted At");
+        for (Question q : questions) {
+            writer.write(',');
+            writer.write(quote(q.getTitle()));
+        }
+        writer.write('\n');
+
+        // Data rows
+        long afterId = 0L;
+        while (true) {
+            List<SubmissionRowDTO> page = submittedFormRepository.findExportPage(formId, afterId, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            Map<Long, Map<Long, String>> answers = new HashMap<>();
+            for (SubmissionAnswerDTO a : loadAnswers(page)) {
+                answers.computeIfAbsent(a.getSubmittedFormId(), id -> new HashMap<>()).put(a.getQuestionId(), a.getAnswer());
+            }
+
+            for (SubmissionRowDTO sub : page) {
+                Map<Long, String> answersMap = answers.getOrDefault(sub.getId(), Map.of());
+                writer.write(String.valueOf(sub.getId()));
+                writer.write(',');
+                writer.write(quote(sub.getEmployeeName() != null ? sub.getEmployeeName() : "Anonymous"));
+                writer.write(',');
+                writer.write(quote(sub.getEmployeeEmail() != null ? sub.getEmployeeEmail() : "N/A"));
+                writer.write(',');
+                writer.write(String.valueOf(sub.getSubmittedAt()));
+                for (Question q : questions) {
+                    writer.write(',');
+                    writer.write(quote(answersMap.getOrDefault(q.getId(), "")));
+                }
+                writer.write('\n');
+            }
+            writer.flush();
+
+            if (page.size() < PAGE_SIZE) break;
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    // Upper bound of the changes an export started now may include; hand it back as since for the next export
+    public Instant currentWatermark() {
+        return Instant.now().minusSeconds(watermarkLagSeconds).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    // The since parameter is a watermark returned by an earlier export
+    public static Instant parseWatermark(String since) {
+        if (since == null || since.isBlank()) return null;
+        try {
+            return Instant.parse(since.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("since must be the X-Export-Watermark of a previous export, e.g. "
+                    + "2024-05-01T12:00:00Z");
+        }
+    }
+
+    /**
+     * One JSON object per submission changed after {@code since} (all submissions when null) and at or before
+     * {@code until}, oldest change first:
+     * {"submissionId":..,"formId":..,"employeeEmail":..,"submittedAt":..,
+     *  "answers":{"<questionId>":typed value},"sentimentScores":{"<questionId>":score}}
+     * Rating answers are numbers, checkbox answers arrays, everything else strings.
+     * A submission is sent again once its answers are scored, so consumers should upsert by submissionId.
+     */
+    public void writeNdjson(Long formId, Instant since, Instant until, Writer writer) throws IOException {
+        Map<Long, String> questionTypes = new HashMap<>();
+        for (Question q : questionRepository.findByFormIdOrderByIdAsc(formId)) {
+            questionTypes.put(q.getId(), q.getType());
+        }
+
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(writer);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(new SerializedString("\n"));
+
+        SubmissionRowDTO last = null;
+        boolean wroteAny = false;
+        while (true) {
+            List<SubmissionRowDTO> page = last == null
+                    ? submittedFormRepository.findChangedPage(
+                            formId, since != null ? since : Instant.EPOCH, until, PageRequest.of(0, PAGE_SIZE))
+                    : submittedFormRepository.findChangedPageAfter(
+                            formId, last.getChangedAt(), last.getId(), until, PageRequest.of(0, PAGE_SIZE));
+            if (page.isEmpty()) break;
+
+            Map<Long, List<SubmissionAnswerDTO>> answers = new HashMap<>();
+            for (SubmissionAnswerDTO a : loadAnswers(page)) {
+                answers.computeIfAbsent(a.getSubmittedFormId(), id -> new ArrayList<>()).add(a);
+            }
+
+            for (SubmissionRowDTO sub : page) {
+                List<SubmissionAnswerDTO> subAnswers = answers.getOrDefault(sub.getId(), List.of());
+
+                gen.writeStartObject();
+                gen.writeNumberField("submissionId", sub.getId());
+                gen.writeNumberField("formId", formId);
+                gen.writeStringField("employeeEmail", sub.getEmployeeEmail());
+                gen.writeStringField("submittedAt", sub.getSubmittedAt() != null ? sub.getSubmittedAt().toString() : null);
+
+                gen.writeObjectFieldStart("answers");
+                for (SubmissionAnswerDTO a : subAnswers) {
+                    gen.writeFieldName(String.valueOf(a.getQuestionId()));
+                    writeTypedAnswer(gen, questionTypes.get(a.getQuestionId()), a.getAnswer());
+                }
+                gen.writeEndObject();
+
+                gen.writeObjectFieldStart("sentimentScores");
+                for (SubmissionAnswerDTO a : subAnswers) {
+                    if (a.getSentimentScore() != null) {
+                        gen.writeNumberField(String.valueOf(a.getQuestionId()), a.getSentimentScore());
+                    }
+                }
+                gen.writeEndObject();
+
+                gen.writeEndObject();
+                wroteAny = true;
+            }
+            gen.flush();
+
+            if (page.size() < PAGE_SIZE) break;
+            last = page.get(page.size() - 1);
+        }
+
+        if (wroteAny) {
+            gen.writeRaw('\n');
+        }
+        gen.close();
+        writer.flush();
+    }
+
+    private static void writeTypedAnswer(JsonGenerator gen, String type, String answer) throws IOException {
+        if (answer == null) {
+            gen.writeNull();
+        } else if ("rating".equalsIgnoreCase(type)) {
+            try {
+                gen.writeNumber(Double.parseDouble(answer.trim()));
+            } catch (NumberFormatException e) {
+                gen.writeString(answer);
+            }
+        } else if ("checkbox".equalsIgnoreCase(type)) {
+            gen.writeStartArray();
+            for (String opt : answer.split(",")) {
+                gen.writeString(opt.trim());
+            }
+            gen.writeEndArray();
+        } else {
+            gen.writeString(answer);
+        }
+    }
+
+    private List<SubmissionAnswerDTO> loadAnswers(List<SubmissionRowDTO> page) {
+        List<Long> ids = new ArrayList<>(page.size());
+        for (SubmissionRowDTO sub : page) {
+            ids.add(sub.getId());
+        }
+        return responseRepository.findAnswersBySubmittedFormIds(ids);
+    }
+
+    private static String quote(String value) {
+        if (value == null) return "\"\"";
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,124 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.FormCatalogItemDTO;
+import com.evalease.evalease_backend.dto.FormCatalogQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paged form catalog: filters, title prefix search, sorting and a total count over the form table alone.
+ *
+ * The query is assembled from the filters actually given, so each one becomes a plain sargable predicate the
+ * form indexes can serve (unique title for the prefix, category + created_at, created_at, deadline) instead of
+ * an ":x IS NULL OR ..." pattern. Sort fields are whitelisted and end with the id, so pages are stable.
+ */
+@Service
+public class FormCatalogService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "f.createdAt",
+            "deadline", "f.deadline",
+            "title", "f.title");
+
+    private final EntityManager entityManager;
+
+    public FormCatalogService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> search(FormCatalogQuery query) {
+        int page = query.page() != null ? Math.max(0, query.page()) : 0;
+        int size = query.size() != null ? Math.max(1, Math.min(query.size(), MAX_PAGE_SIZE)) : DEFAULT_PAGE_SIZE;
+
+        StringBuilder where = new StringBuilder(" FROM Form f WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query.category() != null && !query.category().isBlank()) {
+            where.append(" AND f.category = :category");
+            parameters.put("category", query.category().trim());
+        }
+        if (query.title() != null && !query.title().isBlank()) {
+            // Prefix only, so the title index is used; ! escapes LIKE wildcards typed by the user
+            where.append(" AND f.title LIKE :titlePrefix ESCAPE '!'");
+            parameters.put("titlePrefix", escapeLike(query.title().trim()) + "%");
+        }
+        if (query.createdFrom() != null) {
+            where.append(" AND f.createdAt >= :createdFrom");
+            parameters.put("createdFrom", query.createdFrom());
+        }
+        if (query.createdTo() != null) {
+            where.append(" AND f.createdAt < :createdTo");
+            parameters.put("createdTo", query.createdTo());
+        }
+        if (query.deadlineFrom() != null) {
+            where.append(" AND f.deadline >= :deadlineFrom");
+            parameters.put("deadlineFrom", query.deadlineFrom());
+        }
+        if (query.deadlineTo() != null) {
+            where.append(" AND f.deadline < :deadlineTo");
+            parameters.put("deadlineTo", query.deadlineTo());
+        }
+
+        TypedQuery<FormCatalogItemDTO> select = entityManager.createQuery(
+                "SELECT new com.evalease.evalease_backend.dto.FormCatalogItemDTO("
+                        + "f.id, f.title, f.description, f.category, f.createdAt, f.deadline)"
+                        + where + " ORDER BY " + orderBy(query.sort()),
+                FormCatalogItemDTO.class);
+        parameters.forEach(select::setParameter);
+        List<FormCatalogItemDTO> items = select
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+
+        // A short page already tells the total, unless it is past the end
+        long total;
+        if (items.size() < size && (!items.isEmpty() || page == 0)) {
+            total = (long) page * size + items.size();
+        } else {
+            TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(f)" + where, Long.class);
+            parameters.forEach(count::setParameter);
+            total = count.getSingleResult();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("total", total);
+        result.put("page", page);
+        result.put("size", size);
+        result.put("totalPages", (total + size - 1) / size);
+        return result;
+    }
+
+    private static String orderBy(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return "f.createdAt DESC, f.id DESC";
+        }
+
+        String[] parts = sort.split(",");
+        String column = SORT_COLUMNS.get(parts[0].trim());
+        if (column == null) {
+            throw new IllegalArgumentException("Unsupported sort field: " + parts[0].trim()
+                    + " (use createdAt, deadline or title)");
+        }
+        String direction = parts.length > 1 ? parts[1].trim().toUpperCase() : "ASC";
+        if (!direction.equals("ASC") && !direction.equals("DESC")) {
+            throw new IllegalArgumentException("Unsupported sort direction: " + parts[1].trim());
+        }
+        // Forms without a deadline go last in either direction
+        String nulls = column.equals("f.deadline") ? " NULLS LAST" : "";
+        return column + " " + direction + nulls + ", f.id " + direction;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,226 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.FormDefinitionRowDTO;
+import com.evalease.evalease_backend.repository.FormRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable snapshots of form definitions (form fields, questions and their options), shared by the form viewer
+ * and submission validation. A snapshot is built from one query and kept in a bounded LRU map keyed by form id.
+ *
+ * Each form has a definition version, bumped after an update or delete commits (evict). A snapshot is only
+ * served while its version is current, and a load that raced with an eviction is returned but not stored.
+ * Submissions don't touch the definition version, so a live session keeps hitting the same snapshot.
+ *
+ * Versions are per instance; ttl-seconds bounds how long another instance's edit can go unseen.
+ * Disable with forms.definition-cache.enabled=false to compare against the uncached path.
+ */
+@Service
+public class FormDefinitionCache {
+
+    public record QuestionSnapshot(Long id, String title, String type, boolean required, Integer ratingScale,
+                                   List<String> options) {
+    }
+
+    public record FormSnapshot(Long id, long version, String title, String description, Instant createdAt,
+                               Instant deadline, String category, Instant updatedAt, List<QuestionSnapshot> questions,
+                               Map<Long, QuestionSnapshot> questionsById, long loadedAtNanos) {
+
+        // Stored time of the definition's last change, the same on every instance
+        public long definitionStamp() {
+            Instant stamp = updatedAt != null ? updatedAt : createdAt;
+            return stamp != null ? stamp.toEpochMilli() : 0L;
+        }
+
+        public QuestionSnapshot question(Long questionId) {
+            return questionsById.get(questionId);
+        }
+    }
+
+    private final FormRepository formRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<Long, FormSnapshot> entries;
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<FormSnapshot>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public FormDefinitionCache(FormRepository formRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${forms.definition-cache.enabled:true}") boolean enabled,
+                               @Value("${forms.definition-cache.max-entries:1000}") int maxEntries,
+                               @Value("${forms.definition-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.formRepository = formRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FormSnapshot> eldest) {
+                if (size() > FormDefinitionCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Throws the usual "Form not found" RuntimeException for an unknown id
+    public FormSnapshot get(Long formId) {
+        long version = version(formId);
+        if (!enabled) {
+            misses.incrementAndGet();
+            return build(formId, version);
+        }
+
+        FormSnapshot snapshot;
+        synchronized (entries) {
+            snapshot = entries.get(formId);
+        }
+        if (snapshot != null && snapshot.version() == version) {
+            if (ttlNanos <= 0 || System.nanoTime() - snapshot.loadedAtNanos() < ttlNanos) {
+                hits.incrementAndGet();
+                return snapshot;
+            }
+            expired.incrementAndGet();
+        }
+
+        misses.incrementAndGet();
+        try {
+            return load(formId, version).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    // Concurrent misses for the same form share one query
+    private CompletableFuture<FormSnapshot> load(Long formId, long version) {
+        CompletableFuture<FormSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<FormSnapshot> running = inFlight.putIfAbsent(formId, mine);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            FormSnapshot snapshot = build(formId, version);
+            synchronized (entries) {
+                if (version(formId) == version) {
+                    entries.put(formId, snapshot);
+                }
+            }
+            mine.complete(snapshot);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+        } finally {
+            inFlight.remove(formId, mine);
+        }
+        return mine;
+    }
+
+    private FormSnapshot build(Long formId, long version) {
+        loads.incrementAndGet();
+        List<FormDefinitionRowDTO> rows = readOnlyTx.execute(status -> formRepository.findFormDefinitionRows(formId));
+        if (rows == null || rows.isEmpty()) {
+            throw new RuntimeException("Form not found with id: " + formId);
+        }
+
+        // Rows arrive in question id order, options in id order within each question
+        Map<Long, List<String>> optionsByQuestion = new LinkedHashMap<>();
+        Map<Long, FormDefinitionRowDTO> questionRows = new LinkedHashMap<>();
+        for (FormDefinitionRowDTO row : rows) {
+            if (row.getQuestionId() == null) continue;
+            questionRows.putIfAbsent(row.getQuestionId(), row);
+            List<String> options = optionsByQuestion.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>());
+            if (row.getOption() != null) options.add(row.getOption());
+        }
+
+        List<QuestionSnapshot> questions = new ArrayList<>(questionRows.size());
+        Map<Long, QuestionSnapshot> questionsById = new HashMap<>();
+        for (FormDefinitionRowDTO row : questionRows.values()) {
+            QuestionSnapshot question = new QuestionSnapshot(row.getQuestionId(), row.getQuestionTitle(), row.getType(),
+                    Boolean.TRUE.equals(row.getRequired()), row.getRatingScale(),
+                    List.copyOf(optionsByQuestion.get(row.getQuestionId())));
+            questions.add(question);
+            questionsById.put(question.id(), question);
+        }
+
+        FormDefinitionRowDTO form = rows.get(0);
+        return new FormSnapshot(form.getFormId(), version, form.getFormTitle(), form.getDescription(),
+                form.getCreatedAt(), form.getDeadline(), form.getCategory(), form.getUpdatedAt(),
+                List.copyOf(questions), Map.copyOf(questionsById), System.nanoTime());
+    }
+
+    public long version(Long formId) {
+        AtomicLong version = versions.get(formId);
+        return version != null ? version.get() : 0L;
+    }
+
+    // Deferred until commit when called inside a transaction, like DataVersionService.bumpForm
+    public void evict(Long formId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(formId);
+                }
+            });
+        } else {
+            invalidate(formId);
+        }
+    }
+
+    private void invalidate(Long formId) {
+        synchronized (entries) {
+            versions.computeIfAbsent(formId, id -> new AtomicLong()).incrementAndGet();
+            entries.remove(formId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long lookups = hits.get() + misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups > 0 ? (double) hits.get() / lookups : 0.0);
+        stats.put("expired", expired.get());
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("loads", loads.get());
+        return stats;
+    }
+}
@@ -11,8 +11,11 @@ import com.evalease.evalease_backend.entity.OptionItem;
 import com.evalease.evalease_backend.repository.FormRepository;
 import com.evalease.evalease_backend.repository.SubmittedFormRepository;
 import com.evalease.evalease_backend.repository.ResponseRepository;
+import com.evalease.evalease_backend.service.FormDefinitionCache.FormSnapshot;
+import com.evalease.evalease_backend.service.FormDefinitionCache.QuestionSnapshot;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.PageRequest; 
 
@@ -34,14 +37,26 @@ public class FormService {
         @Autowired
         private SubmittedFormRepository submittedFormRepository;
 
+        @Autowired
+        private AnalyticsRollupService rollupService;
+
+        @Autowired
+        private DataVersionService dataVersions;
+
+        @Autowired
+        private FormDefinitionCache formDefinitions;
+
         public List<RecentFormDTO> getRecentForms() {
                 // Use repository method with Pageable to get top 5 recent forms + response count
-                return formRepository.findTop5RecentFormsWithResponseCount(PageRequest.of(0, 5));
+                if (rollupService.isEnabled()) {
+                        return formRepository.findTop5RecentFormsWithResponseCount(PageRequest.of(0, 5));
+                }
+                return formRepository.findTop5RecentFormsWithLiveResponseCount(PageRequest.of(0, 5));
         }
         
         // Save New Form with Questions & Options
         public Form saveForm(FormDTO formDTO) {
-                if (formRepository.findAll().stream().anyMatch(f -> f.getTitle().equals(formDTO.getTitle()))) {
+                if (formRepository.existsByTitle(formDTO.getTitle())) {
                         throw new IllegalArgumentException("Form with the same title already exists.");
                 }
 
@@ -52,6 +67,7 @@ public class FormService {
                                 .deadline(formDTO.getDeadline())
                                 .category(formDTO.getCategory())
                                 .build();
+                form.setUpdatedAt(form.getCreatedAt());
 
                 List<Question> questions = new ArrayList<>();
 
@@ -79,11 +95,16 @@ public class FormService {
 
                 form.setQuestions(questions);
 
-                return formRepository.save(form);
-        }
-
-        public List<Form> getAllForms() {
-                return formRepository.findAll();
+                Form saved;
+                try {
+                        saved = formRepository.save(form);
+                } catch (DataIntegrityViolationException ex) {
+                        // Another request took the title between the check and the insert
+                        throw new IllegalArgumentException("Form with the same title already exists.");
+                }
+                // New form: list and dashboard ETags must change
+                dataVersions.bumpForm(saved.getId());
+                return saved;
         }
 
         @Transactional
@@ -92,8 +113,7 @@ public class FormService {
                                 .orElseThrow(() -> new RuntimeException("Form not found with id: " + id));
 
                 // Check if another form already has the same title
-                if (formRepository.findAll().stream()
-                                .anyMatch(f -> f.getTitle().equals(formDTO.getTitle()) && !f.getId().equals(id))) {
+                if (formRepository.existsByTitleAndIdNot(formDTO.getTitle(), id)) {
                         throw new IllegalArgumentException("Another form with the same title already exists.");
                 }
 
@@ -101,6 +121,7 @@ public class FormService {
                 form.setDescription(formDTO.getDescription());
                 form.setDeadline(formDTO.getDeadline());
                 form.setCategory(formDTO.getCategory());
+                form.setUpdatedAt(Instant.now());
 
                 // Clear existing questions and add new ones (CascadeType.ALL + orphanRemoval handles cleanup)
                 form.getQuestions().clear();
@@ -126,6 +147,9 @@ public class FormService {
                         form.getQuestions().add(question);
                 }
 
+                rollupService.bumpDataVersion(id);
+                dataVersions.bumpForm(id);
+                formDefinitions.evict(id);
                 return formRepository.save(form);
         }
 
@@ -134,40 +158,41 @@ public class FormService {
                 if (!formRepository.existsById(id)) {
                         throw new RuntimeException("Form not found with id: " + id);
                 }
+                rollupService.deleteForForm(id);
                 formRepository.deleteById(id);
+                dataVersions.bumpForm(id);
+                formDefinitions.evict(id);
         }
 
+        // Served from the shared definition snapshot; only the DTO shell is built per request
         public FormDTO getFormDTOById(Long id) {
-                Form form = formRepository.findById(id)
-                                .orElseThrow(() -> new RuntimeException("Form not found with id: " + id));
+                return toFormDTO(formDefinitions.get(id));
+        }
 
-                List<QuestionDTO> questionDTOs = form.getQuestions().stream()
+        public FormDTO toFormDTO(FormSnapshot form) {
+                List<QuestionDTO> questionDTOs = form.questions().stream()
                                 .map(this::convertToQuestionDTO)
                                 .collect(Collectors.toList());
 
                 return FormDTO.builder()
-                                .id(form.getId())
-                                .title(form.getTitle())
-                                .description(form.getDescription())
-                                .createdAt(form.getCreatedAt())
-                                .deadline(form.getDeadline())
-                                .category(form.getCategory())
+                                .id(form.id())
+                                .title(form.title())
+                                .description(form.description())
+                                .createdAt(form.createdAt())
+                                .deadline(form.deadline())
+                                .category(form.category())
                                 .questions(questionDTOs)
                                 .build();
         }
 
-        private QuestionDTO convertToQuestionDTO(Question question) {
-                List<String> options = question.getOptions() != null
-                                ? question.getOptions().stream().map(OptionItem::getValue).collect(Collectors.toList())
-                                : null;
-
+        private QuestionDTO convertToQuestionDTO(QuestionSnapshot question) {
                 return QuestionDTO.builder()
-                                .id(question.getId())
-                                .title(question.getTitle())
-                                .type(question.getType())
-                                .required(question.isRequired())
-                                .ratingScale(question.getRatingScale())
-                                .options(options)
+                                .id(question.id())
+                                .title(question.title())
+                                .type(question.type())
+                                .required(question.required())
+                                .ratingScale(question.ratingScale())
+                                .options(question.options())
                                 .build();
         }
         
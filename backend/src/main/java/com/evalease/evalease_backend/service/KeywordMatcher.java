@@ -0,0 +1,156 @@
+package com.evalease.evalease_backend.service;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Case-insensitive whole-word matcher for a fixed keyword list (Aho-Corasick).
+ *
+ * The keywords are compiled once into a DFA over the characters they use, so a text is scanned in a single pass
+ * whatever the number of keywords, and characters are folded to lower case while scanning instead of copying
+ * the text. A match only counts when it is not part of a longer word: "fast" matches "too fast!" but not "breakfast".
+ * Instances are immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    private final int keywordCount;
+    private final int[] keywordLengths;
+
+    // Alphabet: index 0 is "any character no keyword uses"
+    private final int[] asciiIndex = new int[128];
+    private final char[] otherChars;
+    private final int[] otherIndex;
+    private final int alphabetSize;
+
+    // transitions[state * alphabetSize + symbol], failure links already folded in
+    private final int[] transitions;
+    // Keywords ending in a state (including via failure links): outputs[outputStart[s] .. outputStart[s + 1])
+    private final int[] outputStart;
+    private final int[] outputs;
+
+    public KeywordMatcher(List<String> keywords) {
+        this.keywordCount = keywords.size();
+        this.keywordLengths = new int[keywordCount];
+
+        // Alphabet of the (lowercased) keyword characters
+        TreeSet<Character> nonAscii = new TreeSet<>();
+        int symbols = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                if (c < 128) {
+                    if (asciiIndex[c] == 0) asciiIndex[c] = symbols++;
+                } else {
+                    nonAscii.add(c);
+                }
+            }
+        }
+        this.otherChars = new char[nonAscii.size()];
+        this.otherIndex = new int[nonAscii.size()];
+        int n = 0;
+        for (char c : nonAscii) {
+            otherChars[n] = c;
+            otherIndex[n++] = symbols++;
+        }
+        this.alphabetSize = symbols;
+
+        // Trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        gotoTable.add(new int[alphabetSize]);
+        stateOutputs.add(new ArrayList<>());
+        for (int k = 0; k < keywordCount; k++) {
+            String keyword = keywords.get(k);
+            keywordLengths[k] = keyword.length();
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                int symbol = symbolOf(Character.toLowerCase(keyword.charAt(i)));
+                if (gotoTable.get(state)[symbol] == 0) {
+                    gotoTable.get(state)[symbol] = gotoTable.size();
+                    gotoTable.add(new int[alphabetSize]);
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = gotoTable.get(state)[symbol];
+            }
+            if (!keyword.isEmpty()) stateOutputs.get(state).add(k);
+        }
+
+        // Failure links, breadth first, folded into a complete transition table
+        int states = gotoTable.size();
+        this.transitions = new int[states * alphabetSize];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = gotoTable.get(0)[symbol];
+            transitions[symbol] = next;
+            if (next != 0) queue.add(next);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs.get(state).addAll(stateOutputs.get(failure[state]));
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = gotoTable.get(state)[symbol];
+                if (next != 0) {
+                    failure[next] = transitions[failure[state] * alphabetSize + symbol];
+                    transitions[state * alphabetSize + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * alphabetSize + symbol] = transitions[failure[state] * alphabetSize + symbol];
+                }
+            }
+        }
+
+        this.outputStart = new int[states + 1];
+        int total = 0;
+        for (int s = 0; s < states; s++) {
+            outputStart[s] = total;
+            total += stateOutputs.get(s).size();
+        }
+        outputStart[states] = total;
+        this.outputs = new int[total];
+        for (int s = 0; s < states; s++) {
+            List<Integer> out = stateOutputs.get(s);
+            for (int i = 0; i < out.size(); i++) {
+                outputs[outputStart[s] + i] = out.get(i);
+            }
+        }
+    }
+
+    public int size() {
+        return keywordCount;
+    }
+
+    // Calls onMatch with the keyword's index for every whole-word occurrence, in text order
+    public void forEachMatch(CharSequence text, IntConsumer onMatch) {
+        if (text == null) return;
+
+        int length = text.length();
+        int state = 0;
+        for (int i = 0; i < length; i++) {
+            state = transitions[state * alphabetSize + symbolOf(Character.toLowerCase(text.charAt(i)))];
+            for (int o = outputStart[state]; o < outputStart[state + 1]; o++) {
+                int keyword = outputs[o];
+                int start = i - keywordLengths[keyword] + 1;
+                if ((start == 0 || !isWordChar(text.charAt(start - 1)))
+                        && (i + 1 == length || !isWordChar(text.charAt(i + 1)))) {
+                    onMatch.accept(keyword);
+                }
+            }
+        }
+    }
+
+    // Sets seen[k] for each keyword k that occurs in text; seen must hold size() entries
+    public void markMatches(CharSequence text, boolean[] seen) {
+        forEachMatch(text, keyword -> seen[keyword] = true);
+    }
+
+    private int symbolOf(char c) {
+        if (c < 128) return asciiIndex[c];
+        int i = Arrays.binarySearch(otherChars, c);
+        return i >= 0 ? otherIndex[i] : 0;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
@@ -0,0 +1,91 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.config.BoundedExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on passwordHashExecutor instead of request threads. The pool and its
+ * queue are bounded, so a login storm uses at most that many cores and the excess is turned away at once
+ * (RejectedExecutionException, answered with 429) instead of pinning every Tomcat worker.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final BoundedExecutor executor;
+
+    private final AtomicLong hashed = new AtomicLong();
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong hashNanosTotal = new AtomicLong();
+    private final AtomicLong hashNanosMax = new AtomicLong();
+    private final AtomicLong waitNanosTotal = new AtomicLong();
+    private final AtomicLong waitNanosMax = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashExecutor") BoundedExecutor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+    }
+
+    // Throws RejectedExecutionException right away when the pool and its queue are full
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword), verified);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword), hashed);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work, AtomicLong done) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                record(waitNanosTotal, waitNanosMax, startedAt - queuedAt);
+                try {
+                    future.complete(work.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    record(hashNanosTotal, hashNanosMax, System.nanoTime() - startedAt);
+                    done.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw e;
+        }
+        return future;
+    }
+
+    private static void record(AtomicLong total, AtomicLong max, long nanos) {
+        total.addAndGet(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    public Map<String, Object> getStats() {
+        // Averages cover both operations: each is one BCrypt round on the pool
+        long count = hashed.get() + verified.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hashed", hashed.get());
+        stats.put("verified", verified.get());
+        stats.put("rejected", rejected.get());
+        stats.put("avgHashMs", count > 0 ? hashNanosTotal.get() / count / 1_000_000.0 : 0.0);
+        stats.put("maxHashMs", hashNanosMax.get() / 1_000_000.0);
+        stats.put("avgQueueWaitMs", count > 0 ? waitNanosTotal.get() / count / 1_000_000.0 : 0.0);
+        stats.put("maxQueueWaitMs", waitNanosMax.get() / 1_000_000.0);
+        stats.put("executor", executor.getStats());
+        return stats;
+    }
+}
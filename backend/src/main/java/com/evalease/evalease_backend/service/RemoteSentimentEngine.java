@@ -0,0 +1,49 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.config.BoundedExecutor;
+import com.evalease.evalease_backend.dto.SentimentResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// Scores with the feedback-sentiment-api service, micro-batched when the batcher is enabled
+@Component
+public class RemoteSentimentEngine implements SentimentEngine {
+
+    public static final String NAME = "remote";
+
+    private final SentimentClient sentimentClient;
+    private final SentimentBatcher sentimentBatcher;
+    private final BoundedExecutor ioExecutor;
+
+    public RemoteSentimentEngine(SentimentClient sentimentClient,
+                                 SentimentBatcher sentimentBatcher,
+                                 @Qualifier("sentimentIoExecutor") BoundedExecutor ioExecutor) {
+        this.sentimentClient = sentimentClient;
+        this.sentimentBatcher = sentimentBatcher;
+        this.ioExecutor = ioExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public CompletableFuture<SentimentResult> scoreAsync(String text) {
+        try {
+            return sentimentBatcher.isEnabled()
+                    ? sentimentBatcher.submit(text)
+                    : CompletableFuture.supplyAsync(() -> sentimentClient.score(text), ioExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+}
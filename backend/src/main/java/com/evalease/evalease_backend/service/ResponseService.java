@@ -1,11 +1,17 @@
 package com.evalease.evalease_backend.service;
 
 import com.evalease.evalease_backend.entity.*;
+import com.evalease.evalease_backend.event.SubmissionRecordedEvent;
 import com.evalease.evalease_backend.repository.*;
+import com.evalease.evalease_backend.service.FormDefinitionCache.FormSnapshot;
+import com.evalease.evalease_backend.service.FormDefinitionCache.QuestionSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,41 +33,77 @@ public class ResponseService {
     @Autowired
     private SubmittedFormRepository submittedFormRepository;
 
-    public void saveResponses(Long formId, Long employeeId, Map<Long, Object> responsesMap) {
-        Form form = formRepository.findById(formId)
-                .orElseThrow(() -> new RuntimeException("Form not found"));
-
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        SubmittedForm submittedForm = SubmittedForm.builder()
-                .form(form)
-                .employee(employee)
-                .submittedAt(LocalDateTime.now())
-                .build();
+    @Autowired
+    private SentimentJobService sentimentJobService;
 
-        List<Response> responses = new ArrayList<>();
+    @Autowired
+    private FormDefinitionCache formDefinitions;
 
+    @Transactional
+    public void saveResponses(Long formId, Long employeeId, Map<Long, Object> responsesMap) {
+        Map<Long, String> answers = new LinkedHashMap<>();
         for (Map.Entry<Long, Object> entry : responsesMap.entrySet()) {
-            Long questionId = entry.getKey();
             Object answerObj = entry.getValue();
+            answers.put(entry.getKey(), answerObj instanceof List ? String.join(",", (List<String>) answerObj) : answerObj.toString());
+        }
+        recordSubmission(formId, employeeId, answers);
+    }
 
-            Question question = questionRepository.findById(questionId)
-                    .orElseThrow(() -> new RuntimeException("Question not found"));
+    // Saves one submission in a single transaction: every answer is checked against the cached form definition
+    // (no question query), questions and form are referenced by id and the responses go out as one JDBC batch
+    @Transactional
+    public List<Response> recordSubmission(Long formId, Long employeeId, Map<Long, String> answersByQuestionId) {
+        FormSnapshot definition = formDefinitions.get(formId);
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+        Form form = formRepository.getReferenceById(formId);
+
+        List<QuestionSnapshot> questions = new ArrayList<>(answersByQuestionId.size());
+        for (Long questionId : answersByQuestionId.keySet()) {
+            QuestionSnapshot question = definition.question(questionId);
+            if (question == null) {
+                throw new RuntimeException("Question " + questionId + " does not belong to form " + formId);
+            }
+            questions.add(question);
+        }
 
-            String answerString = answerObj instanceof List ? String.join(",", (List<String>) answerObj) : answerObj.toString();
+        SubmittedForm submittedForm = submittedFormRepository.save(SubmittedForm.builder()
+                .form(form)
+                .employee(employee)
+                .submittedAt(LocalDateTime.now())
+                .build());
 
-            Response response = Response.builder()
-                    .question(question)
-                    .answer(answerString)
+        List<Response> responses = new ArrayList<>(questions.size());
+        for (QuestionSnapshot question : questions) {
+            responses.add(Response.builder()
+                    .question(questionRepository.getReferenceById(question.id()))
+                    .answer(answersByQuestionId.get(question.id()))
                     .submittedForm(submittedForm)
-                    .build();
-
-            responses.add(response);
+                    .form(form)
+                    .build());
         }
+        List<Response> savedResponses = responseRepository.saveAll(responses);
+
+        // Question types come from the snapshot, so the question references are never initialized
+        List<SubmissionRecordedEvent.Answer> answers = new ArrayList<>(savedResponses.size());
+        List<Long> textResponseIds = new ArrayList<>();
+        for (int i = 0; i < savedResponses.size(); i++) {
+            Response response = savedResponses.get(i);
+            QuestionSnapshot question = questions.get(i);
+            answers.add(new SubmissionRecordedEvent.Answer(question.id(), question.type(), response.getAnswer()));
+            if (response.getAnswer() != null && AnalyticsRollupService.isTextType(question.type())) {
+                textResponseIds.add(response.getId());
+            }
+        }
+        // Keep analytics rollups in step with the new submission
+        eventPublisher.publishEvent(new SubmissionRecordedEvent(
+                formId, submittedForm.getId(), submittedForm.getSubmittedAt(), answers));
 
-        submittedForm.setResponses(responses);
-
-        submittedFormRepository.save(submittedForm);
+        // Queue sentiment scoring in the same transaction, so a restart can't lose it
+        sentimentJobService.enqueue(textResponseIds, SentimentJob.PRIORITY_FRESH);
+        return savedResponses;
     }
 }
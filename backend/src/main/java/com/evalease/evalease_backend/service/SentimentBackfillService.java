@@ -0,0 +1,189 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.entity.BackfillCheckpoint;
+import com.evalease.evalease_backend.entity.SentimentJob;
+import com.evalease.evalease_backend.repository.BackfillCheckpointRepository;
+import com.evalease.evalease_backend.repository.ResponseRepository;
+import com.evalease.evalease_backend.repository.SentimentJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks text responses that have no sentiment score in keyset (id) order and queues them on the backfill lane
+ * of the sentiment job queue, where SentimentJobWorker scores them in batches.
+ *
+ * Each chunk is queued and the checkpoint advanced in one transaction, so a restart resumes after the last
+ * committed chunk. The walk is rate limited and pauses while fresh submissions are waiting or the backfill
+ * lane already holds max-pending jobs, so it never competes with live traffic.
+ */
+@Service
+public class SentimentBackfillService {
+
+    public static final String CHECKPOINT_NAME = "sentiment-scores";
+
+    private final ResponseRepository responseRepository;
+    private final SentimentJobRepository jobRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final SentimentJobService sentimentJobService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final double ratePerSecond;
+    private final long maxPending;
+    private final long idleWaitMillis;
+
+    private Thread runner;
+    private volatile boolean running;
+
+    public SentimentBackfillService(ResponseRepository responseRepository,
+                                    SentimentJobRepository jobRepository,
+                                    BackfillCheckpointRepository checkpointRepository,
+                                    SentimentJobService sentimentJobService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${sentiment.backfill.enabled:true}") boolean enabled,
+                                    @Value("${sentiment.backfill.chunk-size:200}") int chunkSize,
+                                    @Value("${sentiment.backfill.rate-per-second:20}") double ratePerSecond,
+                                    @Value("${sentiment.backfill.max-pending:500}") long maxPending,
+                                    @Value("${sentiment.backfill.idle-wait-ms:5000}") long idleWaitMillis) {
+        this.responseRepository = responseRepository;
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.sentimentJobService = sentimentJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.ratePerSecond = ratePerSecond;
+        this.maxPending = maxPending;
+        this.idleWaitMillis = idleWaitMillis;
+    }
+
+    // First boot starts a pass; later boots resume an unfinished one
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        if (!enabled) return;
+
+        BackfillCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+        if (checkpoint == null || checkpoint.getCompletedAt() == null) {
+            start(false);
+        }
+    }
+
+    // Starts (or resumes) a pass in the background; restart begins again from the first response
+    public synchronized boolean start(boolean restart) {
+        if (running) return false;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            BackfillCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+            if (checkpoint == null) {
+                checkpointRepository.save(new BackfillCheckpoint(CHECKPOINT_NAME, Instant.now()));
+            } else if (restart || checkpoint.getCompletedAt() != null) {
+                checkpoint.setLastId(0);
+                checkpoint.setProcessed(0);
+                checkpoint.setStartedAt(Instant.now());
+                checkpoint.setUpdatedAt(Instant.now());
+                checkpoint.setCompletedAt(null);
+            }
+        });
+
+        running = true;
+        runner = new Thread(this::run, "sentiment-backfill");
+        runner.setDaemon(true);
+        runner.start();
+        return true;
+    }
+
+    private void run() {
+        System.out.println("Sentiment backfill started");
+        try {
+            while (running) {
+                if (!hasRoom()) {
+                    Thread.sleep(idleWaitMillis);
+                    continue;
+                }
+
+                int queued = queueNextChunk();
+                if (queued < 0) {
+                    System.out.println("Sentiment backfill finished");
+                    return;
+                }
+                // Rate limit: chunkSize responses per chunkSize / ratePerSecond seconds
+                if (ratePerSecond > 0 && queued > 0) {
+                    Thread.sleep((long) (queued * 1000.0 / ratePerSecond));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Sentiment backfill stopped, resumes from its checkpoint on the next start: " + e.getMessage());
+        } finally {
+            running = false;
+        }
+    }
+
+    // Fresh submissions ready to run go first, and the backfill lane is kept short. Fresh jobs backing off after a
+    // failure don't count, or one failing answer would hold the backfill until its retries run out.
+    private boolean hasRoom() {
+        return jobRepository.countByStatusAndPriorityAndAvailableAtLessThanEqual(
+                        SentimentJob.Status.PENDING, SentimentJob.PRIORITY_FRESH, Instant.now()) == 0
+                && jobRepository.countByStatusAndPriority(SentimentJob.Status.PENDING, SentimentJob.PRIORITY_BACKFILL) < maxPending;
+    }
+
+    // Queues one chunk and advances the checkpoint in the same transaction; -1 when the pass is complete
+    private int queueNextChunk() {
+        return transactionTemplate.execute(status -> {
+            BackfillCheckpoint checkpoint = checkpointRepository.findForUpdate(CHECKPOINT_NAME)
+                    .orElseThrow(() -> new IllegalStateException("Backfill checkpoint missing"));
+            if (checkpoint.getCompletedAt() != null) {
+                // Another instance finished the pass
+                return -1;
+            }
+
+            List<Long> ids = responseRepository.findUnscoredTextResponseIdsAfter(
+                    checkpoint.getLastId(), PageRequest.of(0, chunkSize));
+            checkpoint.setUpdatedAt(Instant.now());
+            if (ids.isEmpty()) {
+                checkpoint.setCompletedAt(Instant.now());
+                return -1;
+            }
+
+            sentimentJobService.enqueue(ids, SentimentJob.PRIORITY_BACKFILL);
+            checkpoint.setLastId(ids.get(ids.size() - 1));
+            checkpoint.setProcessed(checkpoint.getProcessed() + ids.size());
+            return ids.size();
+        });
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("running", running);
+        checkpointRepository.findById(CHECKPOINT_NAME).ifPresent(checkpoint -> {
+            status.put("lastId", checkpoint.getLastId());
+            status.put("queued", checkpoint.getProcessed());
+            status.put("startedAt", checkpoint.getStartedAt());
+            status.put("updatedAt", checkpoint.getUpdatedAt());
+            status.put("completedAt", checkpoint.getCompletedAt());
+        });
+        status.put("pendingInLane", jobRepository.countByStatusAndPriority(
+                SentimentJob.Status.PENDING, SentimentJob.PRIORITY_BACKFILL));
+        return status;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (runner != null) runner.interrupt();
+    }
+}
@@ -0,0 +1,176 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.config.BoundedExecutor;
+import com.evalease.evalease_backend.dto.SentimentResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micro-batching collector for remote sentiment scoring. Texts submitted by any caller are queued and
+ * sent to /api/sentiment/batch in batches bounded by sentiment.batch.max-size and sentiment.batch.linger-ms;
+ * each caller's future is completed from the batched reply.
+ *
+ * Futures complete with null when the service could not score the text, callers then use the fallback scorer.
+ * Every future is completed, even when its batch is refused by the executor or the HTTP call throws.
+ */
+@Service
+public class SentimentBatcher {
+
+    private static final class Pending {
+        final String text;
+        final CompletableFuture<SentimentResult> future = new CompletableFuture<>();
+
+        Pending(String text) {
+            this.text = text;
+        }
+    }
+
+    private final SentimentClient sentimentClient;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final BlockingQueue<Pending> queue;
+    private final BoundedExecutor senders;
+
+    private Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final AtomicLong batchesSent = new AtomicLong();
+    private final AtomicLong textsSent = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong sentByDispatcher = new AtomicLong();
+    private final AtomicLong sendFailures = new AtomicLong();
+
+    public SentimentBatcher(SentimentClient sentimentClient,
+                            @Value("${sentiment.batch.enabled:true}") boolean enabled,
+                            @Value("${sentiment.batch.max-size:64}") int maxBatchSize,
+                            @Value("${sentiment.batch.linger-ms:20}") long lingerMillis,
+                            @Value("${sentiment.batch.queue-capacity:10000}") int queueCapacity,
+                            @Qualifier("sentimentIoExecutor") BoundedExecutor senders) {
+        this.sentimentClient = sentimentClient;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.senders = senders;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+
+        // Batches in flight are bounded by sentimentIoExecutor; with CALLER_RUNS the dispatcher sends
+        // the batch itself when every sender is busy, which stops it from draining the queue meanwhile
+        dispatcher = new Thread(this::dispatchLoop, "sentiment-batch-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CompletableFuture<SentimentResult> submit(String text) {
+        Pending pending = new Pending(text);
+        if (!queue.offer(pending)) {
+            rejected.incrementAndGet();
+            pending.future.complete(null);
+        }
+        return pending.future;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<Pending> batch = new ArrayList<>(maxBatchSize);
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                // offer never drops a task silently, whatever the executor's policy (DISCARD would strand the futures)
+                if (!senders.offer(() -> send(batch))) {
+                    if (senders.getRejection() == BoundedExecutor.Rejection.CALLER_RUNS) {
+                        sentByDispatcher.incrementAndGet();
+                        send(batch);
+                    } else {
+                        // Saturated sentimentIoExecutor; callers fall back to the local scorer
+                        rejected.addAndGet(batch.size());
+                        batch.forEach(p -> p.future.complete(null));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Sentiment batch dispatch failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        // Identical texts in one batch are scored once
+        Map<String, List<Pending>> byText = new LinkedHashMap<>();
+        for (Pending p : batch) {
+            byText.computeIfAbsent(p.text, t -> new ArrayList<>()).add(p);
+        }
+        List<String> texts = new ArrayList<>(byText.keySet());
+
+        try {
+            List<SentimentResult> results = sentimentClient.scoreBatch(texts);
+            batchesSent.incrementAndGet();
+            textsSent.addAndGet(texts.size());
+
+            for (int i = 0; i < texts.size(); i++) {
+                SentimentResult result = results != null && i < results.size() ? results.get(i) : null;
+                for (Pending p : byText.get(texts.get(i))) {
+                    p.future.complete(result);
+                }
+            }
+        } catch (RuntimeException e) {
+            sendFailures.incrementAndGet();
+            System.err.println("Sentiment batch send failed: " + e.getMessage());
+        } finally {
+            // No-op for futures already completed above
+            batch.forEach(p -> p.future.complete(null));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queued", queue.size());
+        stats.put("batchesSent", batchesSent.get());
+        stats.put("textsSent", textsSent.get());
+        stats.put("rejected", rejected.get());
+        stats.put("sentByDispatcher", sentByDispatcher.get());
+        stats.put("sendFailures", sendFailures.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) dispatcher.interrupt();
+        Pending p;
+        while ((p = queue.poll()) != null) {
+            p.future.complete(null);
+        }
+    }
+}
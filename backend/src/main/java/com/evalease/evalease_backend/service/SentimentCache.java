@@ -0,0 +1,151 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.SentimentResult;
+import com.evalease.evalease_backend.entity.SentimentCacheEntry;
+import com.evalease.evalease_backend.repository.SentimentCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches remote sentiment scores by a hash of the normalized text, tagged with the scorer's model version.
+ * A bounded in-memory LRU tier sits in front of an optional sentiment_cache table shared by all instances,
+ * so repeated short answers ("good", "N/A", ...) are scored once per deployment.
+ * Only real scorer results are cached, never the keyword fallback.
+ */
+@Service
+public class SentimentCache {
+
+    private final SentimentCacheRepository repository;
+    private final boolean enabled;
+    private final boolean persistent;
+    private final int maxEntries;
+    private final String modelVersion;
+
+    private final Map<String, SentimentResult> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SentimentCache(SentimentCacheRepository repository,
+                          @Value("${sentiment.cache.enabled:true}") boolean enabled,
+                          @Value("${sentiment.cache.persistent:false}") boolean persistent,
+                          @Value("${sentiment.cache.max-entries:10000}") int maxEntries,
+                          @Value("${sentiment.model-version:textblob-1}") String modelVersion) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.persistent = persistent;
+        this.maxEntries = maxEntries;
+        this.modelVersion = modelVersion;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SentimentResult> eldest) {
+                return size() > SentimentCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String keyOf(String text) {
+        String normalized = text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return modelVersion + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Returns a copy of the cached result, or null on a miss
+    public SentimentResult get(String text) {
+        if (!enabled) return null;
+        String key = keyOf(text);
+
+        SentimentResult cached;
+        synchronized (memory) {
+            cached = memory.get(key);
+        }
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return copy(cached);
+        }
+
+        if (persistent) {
+            Optional<SentimentCacheEntry> entry = findPersistent(key);
+            if (entry.isPresent()) {
+                persistentHits.incrementAndGet();
+                SentimentResult result = new SentimentResult(entry.get().getPolarity(), entry.get().getScore());
+                synchronized (memory) {
+                    memory.put(key, result);
+                }
+                return copy(result);
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String text, SentimentResult result) {
+        if (!enabled || result == null) return;
+        String key = keyOf(text);
+        SentimentResult stored = new SentimentResult(result.getPolarity(), result.getScore());
+        synchronized (memory) {
+            memory.put(key, stored);
+        }
+        if (persistent) {
+            try {
+                repository.save(new SentimentCacheEntry(key, modelVersion, stored.getPolarity(), stored.getScore(), Instant.now()));
+            } catch (Exception e) {
+                // Another instance stored the same text first; the score is identical
+            }
+        }
+    }
+
+    private Optional<SentimentCacheEntry> findPersistent(String key) {
+        try {
+            return repository.findById(key);
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private static SentimentResult copy(SentimentResult result) {
+        return new SentimentResult(result.getPolarity(), result.getScore());
+    }
+
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (memory) {
+            size = memory.size();
+        }
+        long hits = memoryHits.get() + persistentHits.get();
+        long lookups = hits + misses.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("persistent", persistent);
+        stats.put("modelVersion", modelVersion);
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("persistentHits", persistentHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups > 0 ? (double) hits / lookups : 0.0);
+        return stats;
+    }
+}
@@ -0,0 +1,136 @@
+package com.evalease.evalease_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker in front of the remote sentiment service.
+ *
+ * CLOSED: calls go through; after failure-threshold consecutive failures it opens.
+ * OPEN: calls are refused (callers use the fallback scorer) until open-ms has passed.
+ * HALF_OPEN: up to half-open-calls trial calls go through; one success closes it again, one failure re-opens it.
+ */
+@Component
+public class SentimentCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int MAX_TRANSITIONS_KEPT = 20;
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int halfOpenInFlight;
+
+    private final Deque<Map<String, Object>> transitions = new ArrayDeque<>();
+    private final AtomicLong refused = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public SentimentCircuitBreaker(@Value("${sentiment.breaker.enabled:true}") boolean enabled,
+                                   @Value("${sentiment.breaker.failure-threshold:5}") int failureThreshold,
+                                   @Value("${sentiment.breaker.open-ms:30000}") long openMillis,
+                                   @Value("${sentiment.breaker.half-open-calls:1}") int halfOpenCalls) {
+        this.enabled = enabled;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    // True when the caller may call the service; every permit must end in onSuccess, onFailure or release
+    public synchronized boolean tryAcquire() {
+        if (!enabled) return true;
+
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                refused.incrementAndGet();
+                return false;
+            }
+            transition(State.HALF_OPEN, "open period elapsed");
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) {
+                refused.incrementAndGet();
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        successes.incrementAndGet();
+        if (!enabled) return;
+
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = 0;
+            transition(State.CLOSED, "trial call succeeded");
+        }
+    }
+
+    public synchronized void onFailure(String reason) {
+        failures.incrementAndGet();
+        if (!enabled) return;
+
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = 0;
+            openedAt = System.currentTimeMillis();
+            transition(State.OPEN, "trial call failed: " + reason);
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            transition(State.OPEN, consecutiveFailures + " consecutive failures, last: " + reason);
+        }
+    }
+
+    // Permit acquired but no call was made
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    private void transition(State to, String reason) {
+        State from = state;
+        state = to;
+        System.out.println("Sentiment circuit breaker " + from + " -> " + to + " (" + reason + ")");
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("at", Instant.now().toString());
+        entry.put("from", from.name());
+        entry.put("to", to.name());
+        entry.put("reason", reason);
+        transitions.addFirst(entry);
+        if (transitions.size() > MAX_TRANSITIONS_KEPT) {
+            transitions.removeLast();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", state.name());
+        stats.put("consecutiveFailures", consecutiveFailures);
+        stats.put("successes", successes.get());
+        stats.put("failures", failures.get());
+        stats.put("refused", refused.get());
+        stats.put("transitions", new ArrayList<>(transitions));
+        return stats;
+    }
+}
@@ -0,0 +1,145 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.config.SentimentClientConfig;
+import com.evalease.evalease_backend.dto.SentimentBatchRequest;
+import com.evalease.evalease_backend.dto.SentimentBatchResponse;
+import com.evalease.evalease_backend.dto.SentimentResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The only caller of the remote sentiment service. Every call is guarded by the circuit breaker and a
+ * concurrency bulkhead and runs with the timeouts configured on sentimentRestTemplate.
+ *
+ * Methods return null (or null entries) when the service could not score a text; callers then use the fallback scorer.
+ */
+@Component
+public class SentimentClient {
+
+    private final RestTemplate restTemplate;
+    private final SentimentCircuitBreaker breaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long bulkheadWaitMillis;
+
+    private volatile boolean batchEndpointAvailable = true;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+
+    public SentimentClient(@Qualifier("sentimentRestTemplate") RestTemplate restTemplate,
+                           SentimentCircuitBreaker breaker,
+                           @Value("${sentiment.bulkhead.max-concurrent-calls:8}") int maxConcurrentCalls,
+                           @Value("${sentiment.bulkhead.max-wait-ms:100}") long bulkheadWaitMillis) {
+        this.restTemplate = restTemplate;
+        this.breaker = breaker;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkheadWaitMillis = bulkheadWaitMillis;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+    }
+
+    public SentimentResult score(String text) {
+        if (!acquire()) return null;
+        try {
+            SentimentResult result = restTemplate.postForObject(
+                    SentimentClientConfig.sentimentApiBaseUrl() + "/api/sentiment",
+                    new HttpEntity<>(Map.of("text", text), jsonHeaders()),
+                    SentimentResult.class);
+            breaker.onSuccess();
+            return result;
+        } catch (HttpClientErrorException e) {
+            // The service answered; a rejected request says nothing about its health
+            breaker.onSuccess();
+            return null;
+        } catch (Exception e) {
+            breaker.onFailure(e.getClass().getSimpleName());
+            return null;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // Results in the order of texts; falls back to one request per text if the service has no batch route
+    public List<SentimentResult> scoreBatch(List<String> texts) {
+        if (!batchEndpointAvailable) {
+            return scoreOneByOne(texts);
+        }
+        if (!acquire()) return null;
+        try {
+            SentimentBatchResponse response = restTemplate.postForObject(
+                    SentimentClientConfig.sentimentApiBaseUrl() + "/api/sentiment/batch",
+                    new HttpEntity<>(new SentimentBatchRequest(texts), jsonHeaders()),
+                    SentimentBatchResponse.class);
+            breaker.onSuccess();
+            return response != null ? response.getResults() : null;
+        } catch (HttpClientErrorException.NotFound e) {
+            // Older sentiment service without the batch route
+            breaker.onSuccess();
+            System.err.println("Sentiment batch endpoint not found, falling back to single-text requests");
+            batchEndpointAvailable = false;
+        } catch (HttpClientErrorException e) {
+            breaker.onSuccess();
+            return null;
+        } catch (Exception e) {
+            breaker.onFailure(e.getClass().getSimpleName());
+            return null;
+        } finally {
+            bulkhead.release();
+        }
+        return scoreOneByOne(texts);
+    }
+
+    private List<SentimentResult> scoreOneByOne(List<String> texts) {
+        List<SentimentResult> results = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            results.add(score(text));
+        }
+        return results;
+    }
+
+    private boolean acquire() {
+        if (!breaker.tryAcquire()) {
+            return false;
+        }
+        try {
+            if (bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS)) {
+                calls.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        bulkheadRejections.incrementAndGet();
+        // Not the service's fault; give back the breaker permit without recording an outcome
+        breaker.release();
+        return false;
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.get());
+        stats.put("inFlight", maxConcurrentCalls - bulkhead.availablePermits());
+        stats.put("maxConcurrentCalls", maxConcurrentCalls);
+        stats.put("bulkheadRejections", bulkheadRejections.get());
+        stats.put("batchEndpointAvailable", batchEndpointAvailable);
+        stats.put("breaker", breaker.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,20 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.SentimentResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A way of scoring one text; SentimentService picks the implementation named by sentiment.engine.
+ */
+public interface SentimentEngine {
+
+    // Value of sentiment.engine that selects this engine
+    String getName();
+
+    // Completes with null when the engine could not score the text, SentimentService then uses the fallback scorer
+    CompletableFuture<SentimentResult> scoreAsync(String text);
+
+    // Whether results are worth keeping in SentimentCache (false when scoring is cheaper than a cache lookup)
+    boolean isCacheable();
+}
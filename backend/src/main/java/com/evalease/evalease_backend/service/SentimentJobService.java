@@ -0,0 +1,91 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.SentimentJobLaneDTO;
+import com.evalease.evalease_backend.entity.Response;
+import com.evalease.evalease_backend.entity.SentimentJob;
+import com.evalease.evalease_backend.repository.SentimentJobRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Entry point of the sentiment job outbox: enqueues jobs in the caller's transaction and reports queue state.
+ */
+@Service
+public class SentimentJobService {
+
+    private final SentimentJobRepository jobRepository;
+    private final SentimentJobWorker worker;
+
+    public SentimentJobService(SentimentJobRepository jobRepository, SentimentJobWorker worker) {
+        this.jobRepository = jobRepository;
+        this.worker = worker;
+    }
+
+    // Queues the text answers among the saved responses; joins the caller's transaction
+    public void enqueueTextAnswers(List<Response> responses, int priority) {
+        List<Long> ids = new ArrayList<>();
+        for (Response response : responses) {
+            if (response.getAnswer() != null && AnalyticsRollupService.isTextType(response.getQuestion().getType())) {
+                ids.add(response.getId());
+            }
+        }
+        enqueue(ids, priority);
+    }
+
+    public void enqueue(Collection<Long> responseIds, int priority) {
+        if (responseIds.isEmpty()) return;
+
+        Instant now = Instant.now();
+        List<SentimentJob> jobs = new ArrayList<>(responseIds.size());
+        for (Long responseId : responseIds) {
+            jobs.add(new SentimentJob(responseId, priority, now));
+        }
+        jobRepository.saveAll(jobs);
+
+        // Wake the local worker once the jobs are visible to it
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worker.wakeUp();
+                }
+            });
+        } else {
+            worker.wakeUp();
+        }
+    }
+
+    // Puts every dead-lettered job back in its lane with a fresh attempt budget
+    @Transactional
+    public int requeueDead() {
+        int requeued = jobRepository.requeueDead(SentimentJob.Status.PENDING, SentimentJob.Status.DEAD, Instant.now());
+        worker.wakeUp();
+        return requeued;
+    }
+
+    public Map<String, Object> getStats() {
+        Instant now = Instant.now();
+        List<Map<String, Object>> lanes = new ArrayList<>();
+        for (SentimentJobLaneDTO lane : jobRepository.summarizeLanes()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", lane.getStatus().name());
+            entry.put("priority", lane.getPriority() == SentimentJob.PRIORITY_FRESH ? "fresh" : "backfill");
+            entry.put("jobs", lane.getJobs());
+            // Lag: age of the oldest job still in this lane
+            entry.put("oldestAgeSeconds", lane.getOldestCreatedAt() != null
+                    ? Duration.between(lane.getOldestCreatedAt(), now).getSeconds() : 0);
+            lanes.add(entry);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lanes", lanes);
+        stats.put("worker", worker.getStats());
+        return stats;
+    }
+}
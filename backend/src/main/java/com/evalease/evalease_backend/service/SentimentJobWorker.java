@@ -0,0 +1,352 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.config.BoundedExecutor;
+import com.evalease.evalease_backend.dto.SentimentResult;
+import com.evalease.evalease_backend.entity.Response;
+import com.evalease.evalease_backend.entity.SentimentJob;
+import com.evalease.evalease_backend.event.SentimentScoredEvent;
+import com.evalease.evalease_backend.repository.ResponseRepository;
+import com.evalease.evalease_backend.repository.SentimentJobRepository;
+import com.evalease.evalease_backend.repository.SubmittedFormRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the sentiment_job outbox. A poller thread claims batches with SELECT ... FOR UPDATE SKIP LOCKED and a
+ * lease, so several backend instances can share the table; each batch is scored on sentimentTaskExecutor.
+ *
+ * A job whose text the engine could not score, or did not score within score-timeout-ms, is retried with
+ * exponential backoff and dead-lettered after max-attempts. Jobs of a worker that died keep their RUNNING status until the lease expires and are then claimed again.
+ */
+@Service
+public class SentimentJobWorker {
+
+    private final SentimentJobRepository jobRepository;
+    private final ResponseRepository responseRepository;
+    private final SubmittedFormRepository submittedFormRepository;
+    private final SentimentService sentimentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoundedExecutor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollMillis;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final long scoreTimeoutMillis;
+    private final int concurrency;
+    private final Semaphore batchesInFlight;
+    private final String workerId;
+
+    private final Object wakeLock = new Object();
+    private Thread poller;
+    private volatile boolean running = true;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    // Completions per second over the last minute: slot = epoch second % 60
+    private final long[] completedSeconds = new long[60];
+    private final long[] completedCounts = new long[60];
+
+    public SentimentJobWorker(SentimentJobRepository jobRepository,
+                              ResponseRepository responseRepository,
+                              SubmittedFormRepository submittedFormRepository,
+                              SentimentService sentimentService,
+                              ApplicationEventPublisher eventPublisher,
+                              @Qualifier("sentimentTaskExecutor") BoundedExecutor taskExecutor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${sentiment.jobs.enabled:true}") boolean enabled,
+                              @Value("${sentiment.jobs.batch-size:50}") int batchSize,
+                              @Value("${sentiment.jobs.concurrency:4}") int concurrency,
+                              @Value("${sentiment.jobs.poll-ms:1000}") long pollMillis,
+                              @Value("${sentiment.jobs.lease-seconds:120}") long leaseSeconds,
+                              @Value("${sentiment.jobs.max-attempts:5}") int maxAttempts,
+                              @Value("${sentiment.jobs.backoff-base-ms:5000}") long backoffBaseMillis,
+                              @Value("${sentiment.jobs.backoff-max-ms:600000}") long backoffMaxMillis,
+                              @Value("${sentiment.jobs.score-timeout-ms:60000}") long scoreTimeoutMillis) {
+        this.jobRepository = jobRepository;
+        this.responseRepository = responseRepository;
+        this.submittedFormRepository = submittedFormRepository;
+        this.sentimentService = sentimentService;
+        this.eventPublisher = eventPublisher;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        // The batch must be released well before its lease runs out and another worker claims it
+        this.scoreTimeoutMillis = Math.min(scoreTimeoutMillis, this.lease.toMillis() / 2);
+        this.concurrency = concurrency;
+        this.batchesInFlight = new Semaphore(concurrency);
+        this.workerId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // Starts once the schema is in place
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        poller = new Thread(this::pollLoop, "sentiment-job-poller");
+        poller.setDaemon(true);
+        poller.start();
+        System.out.println("Sentiment job worker started as " + workerId);
+    }
+
+    // Called after a commit that enqueued jobs, so this instance doesn't wait for the next poll
+    public void wakeUp() {
+        synchronized (wakeLock) {
+            wakeLock.notifyAll();
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                batchesInFlight.acquire();
+                List<SentimentJob> jobs;
+                try {
+                    jobs = claim();
+                } catch (RuntimeException e) {
+                    batchesInFlight.release();
+                    throw e;
+                }
+
+                if (jobs.isEmpty()) {
+                    batchesInFlight.release();
+                    synchronized (wakeLock) {
+                        wakeLock.wait(pollMillis);
+                    }
+                    continue;
+                }
+
+                boolean accepted = taskExecutor.offer(() -> {
+                    try {
+                        process(jobs);
+                    } finally {
+                        batchesInFlight.release();
+                    }
+                });
+                if (!accepted) {
+                    // Executor saturated: process on the poller, which also stops claiming meanwhile
+                    try {
+                        process(jobs);
+                    } finally {
+                        batchesInFlight.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Sentiment job poll failed: " + e.getMessage());
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private List<SentimentJob> claim() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<Long> ids = jobRepository.lockClaimable(now, batchSize);
+            if (ids.isEmpty()) return List.<SentimentJob>of();
+
+            jobRepository.markRunning(ids, SentimentJob.Status.RUNNING, workerId, now.plus(lease));
+            claimed.addAndGet(ids.size());
+            return jobRepository.findAllById(ids);
+        });
+    }
+
+    private void process(List<SentimentJob> jobs) {
+        try {
+            Map<Long, Response> responses = responseRepository.findWithQuestionByIdIn(
+                            jobs.stream().map(SentimentJob::getResponseId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(Response::getId, Function.identity()));
+
+            // Submit every text before waiting so the remote engine can batch them
+            Map<SentimentJob, CompletableFuture<SentimentResult>> pending = new LinkedHashMap<>();
+            List<SentimentJob> nothingToScore = new ArrayList<>();
+            for (SentimentJob job : jobs) {
+                Response response = responses.get(job.getResponseId());
+                if (response == null || response.getAnswer() == null
+                        || !AnalyticsRollupService.isTextType(response.getQuestion().getType())) {
+                    // Response deleted with its form, or not a text answer
+                    nothingToScore.add(job);
+                    continue;
+                }
+                pending.put(job, sentimentService.scoreWithEngine(response.getAnswer()));
+            }
+
+            // One deadline for the whole batch: a future stranded by a dropped task can't hold the worker
+            Map<SentimentJob, SentimentResult> scored = new LinkedHashMap<>();
+            Map<SentimentJob, String> failed = new LinkedHashMap<>();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scoreTimeoutMillis);
+            for (Map.Entry<SentimentJob, CompletableFuture<SentimentResult>> entry : pending.entrySet()) {
+                SentimentResult result = null;
+                String error = "Sentiment engine could not score the text";
+                try {
+                    result = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    timedOut.incrementAndGet();
+                    error = "Sentiment engine did not answer within " + scoreTimeoutMillis + " ms";
+                } catch (ExecutionException e) {
+                    error = "Sentiment engine failed: " + e.getCause();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    error = "Interrupted while waiting for the sentiment engine";
+                }
+                if (result != null) scored.put(entry.getKey(), result);
+                else failed.put(entry.getKey(), error);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> scoredSubmissions = new HashSet<>();
+                for (Map.Entry<SentimentJob, SentimentResult> entry : scored.entrySet()) {
+                    Response response = responses.get(entry.getKey().getResponseId());
+                    double score = entry.getValue().getScore();
+                    responseRepository.updateSentimentScore(response.getId(), score);
+                    scoredSubmissions.add(response.getSubmittedForm().getId());
+                    // Rollup and version listeners run after commit
+                    eventPublisher.publishEvent(new SentimentScoredEvent(
+                            response.getQuestion().getForm().getId(),
+                            response.getQuestion().getId(),
+                            response.getId(),
+                            response.getSentimentScore(),
+                            score));
+                }
+
+                // Incremental exports send these submissions again, now with their scores
+                if (!scoredSubmissions.isEmpty()) {
+                    submittedFormRepository.markChanged(scoredSubmissions, Instant.now());
+                }
+
+                List<Long> done = new ArrayList<>();
+                scored.keySet().forEach(job -> done.add(job.getId()));
+                nothingToScore.forEach(job -> done.add(job.getId()));
+                if (!done.isEmpty()) {
+                    jobRepository.deleteClaimed(done, workerId);
+                }
+            });
+            recordCompleted(scored.size() + nothingToScore.size());
+
+            failed.forEach(this::retryOrDeadLetter);
+        } catch (Exception e) {
+            System.err.println("Sentiment job batch failed: " + e.getMessage());
+            for (SentimentJob job : jobs) {
+                try {
+                    retryOrDeadLetter(job, e.getClass().getSimpleName() + ": " + e.getMessage());
+                } catch (Exception ignored) {
+                    // Lease expiry hands the job out again
+                }
+            }
+        }
+    }
+
+    private void retryOrDeadLetter(SentimentJob job, String error) {
+        String lastError = error != null && error.length() > SentimentJob.MAX_ERROR_LENGTH
+                ? error.substring(0, SentimentJob.MAX_ERROR_LENGTH)
+                : error;
+
+        if (job.getAttempts() >= maxAttempts) {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.release(
+                    job.getId(), workerId, SentimentJob.Status.DEAD, Instant.now(), lastError));
+            deadLettered.incrementAndGet();
+            System.err.println("Sentiment job for response " + job.getResponseId() + " dead-lettered after "
+                    + job.getAttempts() + " attempts: " + lastError);
+            return;
+        }
+
+        long backoff = Math.min(backoffMaxMillis, backoffBaseMillis << Math.min(20, Math.max(0, job.getAttempts() - 1)));
+        transactionTemplate.executeWithoutResult(status -> jobRepository.release(
+                job.getId(), workerId, SentimentJob.Status.PENDING, Instant.now().plusMillis(backoff), lastError));
+        retried.incrementAndGet();
+    }
+
+    private void recordCompleted(int count) {
+        if (count == 0) return;
+        completed.addAndGet(count);
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % completedSeconds.length);
+        synchronized (completedSeconds) {
+            if (completedSeconds[slot] != second) {
+                completedSeconds[slot] = second;
+                completedCounts[slot] = 0;
+            }
+            completedCounts[slot] += count;
+        }
+    }
+
+    private double completedPerSecondLastMinute() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        synchronized (completedSeconds) {
+            for (int i = 0; i < completedSeconds.length; i++) {
+                if (now - completedSeconds[i] < completedSeconds.length) total += completedCounts[i];
+            }
+        }
+        return total / (double) completedSeconds.length;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("workerId", workerId);
+        stats.put("batchesInFlight", concurrency - batchesInFlight.availablePermits());
+        stats.put("claimed", claimed.get());
+        stats.put("completed", completed.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("completedPerSecondLastMinute", completedPerSecondLastMinute());
+        return stats;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (poller != null) poller.interrupt();
+    }
+}
@@ -1,77 +1,69 @@
 package com.evalease.evalease_backend.service;
 
-import com.evalease.evalease_backend.entity.Response;
-import com.evalease.evalease_backend.repository.ResponseRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
 
 import com.evalease.evalease_backend.dto.SentimentResult;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class SentimentService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ResponseRepository responseRepository;
+    // Simple keyword-based sentiment for college project reliability
+    private static final List<String> FALLBACK_POSITIVE_WORDS = List.of("good", "great", "excellent", "amazing", "useful", "helpful", "clear", "well", "positive", "happy", "satisfied", "learned", "informative");
+    private static final List<String> FALLBACK_NEGATIVE_WORDS = List.of("bad", "poor", "confusing", "boring", "slow", "fast", "unclear", "hard", "negative", "disappointed", "dissatisfied", "waste", "long");
+    // Positive words first, so a match index below FALLBACK_POSITIVE_WORDS.size() is positive
+    private static final List<String> FALLBACK_WORDS = Stream.concat(
+            FALLBACK_POSITIVE_WORDS.stream(), FALLBACK_NEGATIVE_WORDS.stream()).collect(Collectors.toList());
+    private static final KeywordMatcher FALLBACK_MATCHER = new KeywordMatcher(FALLBACK_WORDS);
+
+    private final SentimentCache sentimentCache;
+    private final SentimentEngine engine;
     
-    private String getSentimentApiUrl() {
-        String envUrl = System.getenv("SENTIMENT_API_URL");
-        if (envUrl != null && !envUrl.isEmpty()) {
-            return envUrl.endsWith("/") ? envUrl + "api/sentiment" : envUrl + "/api/sentiment";
-        }
-        return "http://localhost:5000/api/sentiment";
+    public SentimentService(SentimentCache sentimentCache,
+                            List<SentimentEngine> engines,
+                            @Value("${sentiment.engine:remote}") String engineName) {
+        this.sentimentCache = sentimentCache;
+        this.engine = engines.stream()
+                .filter(e -> e.getName().equalsIgnoreCase(engineName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown sentiment.engine: " + engineName));
+        System.out.println("Sentiment engine: " + engine.getName());
     }
 
-    public SentimentService(ResponseRepository responseRepository) {
-        this.responseRepository = responseRepository;
+    public SentimentResult analyzeSentiment(String text) {
+        return analyzeSentimentAsync(text).join();
     }
 
-    @Async
-    public void processResponseSentimentAsync(Long responseId) {
-        try {
-            Response response = responseRepository.findById(responseId).orElse(null);
-            if (response == null || response.getAnswer() == null) return;
+    // Cache first (for engines worth caching), then the configured engine, then the keyword fallback
+    public CompletableFuture<SentimentResult> analyzeSentimentAsync(String text) {
+        return scoreWithEngine(text).thenApply(result -> result != null ? result : analyzeSentimentFallback(text));
+    }
 
-            // Only analyze text-based responses
-            String type = response.getQuestion().getType();
-            if (type.equalsIgnoreCase("paragraph") || type.equalsIgnoreCase("text") || type.equalsIgnoreCase("textarea")) {
-                SentimentResult result = analyzeSentiment(response.getAnswer());
-                response.setSentimentScore(result.getScore());
-                responseRepository.save(response);
+    // Like analyzeSentimentAsync without the fallback: completes with null when the engine could not score the text
+    public CompletableFuture<SentimentResult> scoreWithEngine(String text) {
+        boolean cacheable = engine.isCacheable();
+        if (cacheable) {
+            SentimentResult cached = sentimentCache.get(text);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
             }
-        } catch (Exception e) {
-            System.err.println("Async sentiment analysis failed for response " + responseId + ": " + e.getMessage());
         }
-    }
-
-    public SentimentResult analyzeSentiment(String text) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
 
-            Map<String, String> requestBody = new HashMap<>();
-            requestBody.put("text", text);
-
-            HttpEntity<Map<String, String>> request = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<SentimentResult> response = restTemplate.postForEntity(
-                    getSentimentApiUrl(), request, SentimentResult.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return response.getBody();
-            } else {
-                return analyzeSentimentFallback(text);
+        return engine.scoreAsync(text).thenApply(result -> {
+            if (result != null && cacheable) {
+                sentimentCache.put(text, result);
             }
-        } catch (Exception e) {
-            // e.printStackTrace(); // Avoid console clutter
-            return analyzeSentimentFallback(text);
-        }
+            return result;
+        });
+    }
+
+    public String getEngineName() {
+        return engine.getName();
     }
 
     private SentimentResult analyzeSentimentFallback(String text) {
@@ -79,20 +71,15 @@ public class SentimentService {
             return new SentimentResult("neutral", 0.0);
         }
 
-        String lowerText = text.toLowerCase();
-        
-        // Simple keyword-based sentiment for college project reliability
-        List<String> positiveWords = List.of("good", "great", "excellent", "amazing", "useful", "helpful", "clear", "well", "positive", "happy", "satisfied", "learned", "informative");
-        List<String> negativeWords = List.of("bad", "poor", "confusing", "boring", "slow", "fast", "unclear", "hard", "negative", "disappointed", "dissatisfied", "waste", "long");
+        boolean[] seen = new boolean[FALLBACK_WORDS.size()];
+        FALLBACK_MATCHER.markMatches(text, seen);
 
         int positiveCount = 0;
         int negativeCount = 0;
-
-        for (String word : positiveWords) {
-            if (lowerText.contains(word)) positiveCount++;
-        }
-        for (String word : negativeWords) {
-            if (lowerText.contains(word)) negativeCount++;
+        for (int i = 0; i < seen.length; i++) {
+            if (!seen[i]) continue;
+            if (i < FALLBACK_POSITIVE_WORDS.size()) positiveCount++;
+            else negativeCount++;
         }
 
         if (positiveCount > negativeCount) {
@@ -105,40 +92,4 @@ public class SentimentService {
             return new SentimentResult("neutral", 0.0);
         }
     }
-
-    public SentimentResult analyzeSentimentBatch(List<String> texts) {
-        if (texts == null || texts.isEmpty()) {
-            return new SentimentResult("neutral", 0.0, 0.0, 0.0, 100.0);
-        }
-
-        // Parallel processing to speed up sentiment analysis
-        List<SentimentResult> results = texts.parallelStream()
-                .map(this::analyzeSentiment)
-                .collect(Collectors.toList());
-
-        double totalScore = 0.0;
-        int positive = 0, negative = 0, neutral = 0;
-
-        for (SentimentResult result : results) {
-            double score = result.getScore();
-            totalScore += score;
-
-            if (score > 0.1) positive++;
-            else if (score < -0.1) negative++;
-            else neutral++;
-        }
-
-        double avg = totalScore / texts.size();
-        String polarity = avg > 0.1 ? "positive" : (avg < -0.1 ? "negative" : "neutral");
-
-        double positivePct = positive * 100.0 / texts.size();
-        double negativePct = negative * 100.0 / texts.size();
-        double neutralPct = neutral * 100.0 / texts.size();
-
-        SentimentResult result = new SentimentResult(polarity, avg, positivePct, negativePct, neutralPct);
-        result.setPositiveCount(positive);
-        result.setNegativeCount(negative);
-        result.setNeutralCount(neutral);
-        return result;
-    }
 }
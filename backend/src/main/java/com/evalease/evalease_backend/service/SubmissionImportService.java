@@ -0,0 +1,456 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.entity.*;
+import com.evalease.evalease_backend.repository.EmployeeRepository;
+import com.evalease.evalease_backend.repository.FormRepository;
+import com.evalease.evalease_backend.repository.QuestionRepository;
+import com.evalease.evalease_backend.repository.ResponseRepository;
+import com.evalease.evalease_backend.repository.SubmittedFormRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Imports submissions collected offline, streamed as NDJSON or CSV in the same shapes ExportService writes.
+ *
+ * Rows are validated against the form's questions (read once per import) and written in chunks, one transaction
+ * per chunk with batched inserts. A row that fails validation, or a chunk that fails to write, is reported with
+ * its row number while the rest of the import carries on. Sentiment scoring is queued on the backfill lane so a
+ * large import doesn't hold up live submissions, and the form's rollups are rebuilt once at the end.
+ */
+@Service
+public class SubmissionImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final FormRepository formRepository;
+    private final QuestionRepository questionRepository;
+    private final EmployeeRepository employeeRepository;
+    private final SubmittedFormRepository submittedFormRepository;
+    private final ResponseRepository responseRepository;
+    private final SentimentJobService sentimentJobService;
+    private final AnalyticsRollupService rollupService;
+    private final DataVersionService dataVersions;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SubmissionImportService(FormRepository formRepository,
+                                   QuestionRepository questionRepository,
+                                   EmployeeRepository employeeRepository,
+                                   SubmittedFormRepository submittedFormRepository,
+                                   ResponseRepository responseRepository,
+                                   SentimentJobService sentimentJobService,
+                                   AnalyticsRollupService rollupService,
+                                   DataVersionService dataVersions,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${import.chunk-size:500}") int chunkSize) {
+        this.formRepository = formRepository;
+        this.questionRepository = questionRepository;
+        this.employeeRepository = employeeRepository;
+        this.submittedFormRepository = submittedFormRepository;
+        this.responseRepository = responseRepository;
+        this.sentimentJobService = sentimentJobService;
+        this.rollupService = rollupService;
+        this.dataVersions = dataVersions;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * One JSON object per line:
+     * {"employeeId":.. or "employeeEmail":.., "submittedAt":"2025-01-31T10:15:00", "answers":{"<questionId>":value}}
+     * Numbers are stored as written and arrays are joined with commas.
+     */
+    public Map<String, Object> importNdjson(Long formId, BufferedReader reader) throws IOException {
+        ImportRun run = new ImportRun(formId);
+
+        String line;
+        int rowNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) continue;
+
+            try {
+                run.add(parseNdjsonRow(run, rowNumber, objectMapper.readTree(line)));
+            } catch (IOException | IllegalArgumentException e) {
+                run.reject(rowNumber, e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Header row first. "Employee ID" or "Employee Email" name the employee, "Submitted At" is optional,
+     * "Submission ID" and "Employee Name" are ignored, and every other column is a question given by id or title.
+     */
+    public Map<String, Object> importCsv(Long formId, BufferedReader reader) throws IOException {
+        ImportRun run = new ImportRun(formId);
+
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        Long[] columnQuestions = new Long[header.size()];
+        int employeeIdColumn = -1, employeeEmailColumn = -1, submittedAtColumn = -1;
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            switch (name.toLowerCase()) {
+                case "employee id" -> employeeIdColumn = i;
+                case "employee email" -> employeeEmailColumn = i;
+                case "submitted at" -> submittedAtColumn = i;
+                case "submission id", "employee name" -> { }
+                default -> columnQuestions[i] = run.questionForColumn(name);
+            }
+        }
+
+        List<String> record;
+        int rowNumber = 1;
+        while ((record = readCsvRecord(reader)) != null) {
+            rowNumber++;
+            if (record.size() == 1 && record.get(0).isBlank()) continue;
+
+            try {
+                ImportRow row = new ImportRow(rowNumber);
+                if (employeeIdColumn >= 0) row.employeeId = parseEmployeeId(cell(record, employeeIdColumn));
+                if (employeeEmailColumn >= 0) {
+                    String email = cell(record, employeeEmailColumn);
+                    // The export writes N/A for anonymous submissions
+                    row.employeeEmail = email.equalsIgnoreCase("N/A") ? null : email;
+                }
+                if (submittedAtColumn >= 0) row.submittedAt = parseSubmittedAt(cell(record, submittedAtColumn));
+                for (int i = 0; i < columnQuestions.length; i++) {
+                    String answer = cell(record, i);
+                    if (columnQuestions[i] != null && !answer.isEmpty()) {
+                        row.answers.put(columnQuestions[i], answer);
+                    }
+                }
+                run.add(row);
+            } catch (IllegalArgumentException e) {
+                run.reject(rowNumber, e.getMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    private ImportRow parseNdjsonRow(ImportRun run, int rowNumber, JsonNode node) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+
+        ImportRow row = new ImportRow(rowNumber);
+        JsonNode employeeId = node.get("employeeId");
+        if (employeeId != null && !employeeId.isNull()) row.employeeId = parseEmployeeId(employeeId.asText());
+        JsonNode employeeEmail = node.get("employeeEmail");
+        if (employeeEmail != null && !employeeEmail.isNull()) row.employeeEmail = employeeEmail.asText();
+        JsonNode submittedAt = node.get("submittedAt");
+        if (submittedAt != null && !submittedAt.isNull()) row.submittedAt = parseSubmittedAt(submittedAt.asText());
+
+        JsonNode answers = node.get("answers");
+        if (answers == null || !answers.isObject()) {
+            throw new IllegalArgumentException("Missing \"answers\" object");
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = answers.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            Long questionId = run.questionForColumn(field.getKey());
+            String answer = answerText(field.getValue());
+            if (answer != null) {
+                row.answers.put(questionId, answer);
+            }
+        }
+        return row;
+    }
+
+    private static String answerText(JsonNode value) {
+        if (value == null || value.isNull()) return null;
+        if (value.isArray()) {
+            List<String> parts = new ArrayList<>();
+            value.forEach(part -> parts.add(part.asText()));
+            return String.join(",", parts);
+        }
+        // Whole numbers keep the form they are stored in by the submission endpoint ("4", not "4.0")
+        if (value.isNumber() && value.canConvertToLong() && value.asDouble() == value.asLong()) {
+            return String.valueOf(value.asLong());
+        }
+        return value.asText();
+    }
+
+    private static Long parseEmployeeId(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid employee id: " + value);
+        }
+    }
+
+    private static LocalDateTime parseSubmittedAt(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid submittedAt: " + value);
+        }
+    }
+
+    private static String cell(List<String> record, int column) {
+        return column < record.size() ? record.get(column) : "";
+    }
+
+    // RFC 4180 record: quoted fields may contain commas, doubled quotes and line breaks; null at end of input
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') reader.reset();
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class ImportRow {
+        final int rowNumber;
+        Long employeeId;
+        String employeeEmail;
+        LocalDateTime submittedAt;
+        final Map<Long, String> answers = new LinkedHashMap<>();
+
+        ImportRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+
+    // Outcome of one committed chunk
+    private static class ChunkResult {
+        int submissions;
+        int responses;
+        final Map<Integer, String> rejected = new LinkedHashMap<>();
+    }
+
+    // State of one import: the form's questions, the chunk being filled and the running totals
+    private class ImportRun {
+        final Form form;
+        final Map<Long, Question> questions = new HashMap<>();
+        final Map<String, Long> questionIdsByTitle = new HashMap<>();
+        final List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        final List<Map<String, Object>> errors = new ArrayList<>();
+        final long startedNanos = System.nanoTime();
+        int imported;
+        int failed;
+        int responses;
+
+        ImportRun(Long formId) {
+            this.form = formRepository.findById(formId)
+                    .orElseThrow(() -> new RuntimeException("Form not found with id: " + formId));
+            for (Question question : questionRepository.findByFormId(formId)) {
+                questions.put(question.getId(), question);
+                if (question.getTitle() != null) {
+                    questionIdsByTitle.putIfAbsent(question.getTitle().trim().toLowerCase(), question.getId());
+                }
+            }
+        }
+
+        Long questionForColumn(String column) {
+            String key = column.trim();
+            try {
+                Long questionId = Long.parseLong(key);
+                if (questions.containsKey(questionId)) return questionId;
+            } catch (NumberFormatException ignored) {
+                // Not an id, try the title
+            }
+            Long questionId = questionIdsByTitle.get(key.toLowerCase());
+            if (questionId == null) {
+                throw new IllegalArgumentException("Question \"" + column + "\" does not belong to form " + form.getId());
+            }
+            return questionId;
+        }
+
+        void add(ImportRow row) {
+            if (row.answers.isEmpty()) {
+                reject(row.rowNumber, "No answers");
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) flush();
+        }
+
+        void reject(int rowNumber, String error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("row", rowNumber);
+                entry.put("error", error);
+                errors.add(entry);
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+            List<ImportRow> rowsToWrite = new ArrayList<>(chunk);
+            chunk.clear();
+
+            try {
+                record(transactionTemplate.execute(status -> write(rowsToWrite)));
+            } catch (RuntimeException chunkFailure) {
+                // Retry row by row so one bad row doesn't cost the whole chunk
+                for (ImportRow row : rowsToWrite) {
+                    try {
+                        record(transactionTemplate.execute(status -> write(List.of(row))));
+                    } catch (RuntimeException rowFailure) {
+                        reject(row.rowNumber, rowFailure.getMessage());
+                    }
+                }
+            }
+        }
+
+        private void record(ChunkResult result) {
+            imported += result.submissions;
+            responses += result.responses;
+            result.rejected.forEach(this::reject);
+        }
+
+        // Runs inside a chunk transaction; rows naming an unknown employee are rejected, the rest are written
+        private ChunkResult write(List<ImportRow> rowsToWrite) {
+            Set<Long> employeeIds = new HashSet<>();
+            Set<String> employeeEmails = new HashSet<>();
+            for (ImportRow row : rowsToWrite) {
+                if (row.employeeId != null) employeeIds.add(row.employeeId);
+                else if (row.employeeEmail != null && !row.employeeEmail.isBlank()) employeeEmails.add(row.employeeEmail.trim());
+            }
+            Map<Long, Employee> employeesById = new HashMap<>();
+            employeeRepository.findAllById(employeeIds).forEach(e -> employeesById.put(e.getId(), e));
+            Map<String, Employee> employeesByEmail = new HashMap<>();
+            if (!employeeEmails.isEmpty()) {
+                employeeRepository.findByEmailIn(employeeEmails).forEach(e -> employeesByEmail.put(e.getEmail(), e));
+            }
+
+            ChunkResult result = new ChunkResult();
+            LocalDateTime now = LocalDateTime.now();
+            List<SubmittedForm> submissions = new ArrayList<>(rowsToWrite.size());
+            List<Response> newResponses = new ArrayList<>();
+            for (ImportRow row : rowsToWrite) {
+                // Rows without an employee are stored as anonymous submissions
+                Employee employee = null;
+                if (row.employeeId != null) {
+                    employee = employeesById.get(row.employeeId);
+                    if (employee == null) {
+                        result.rejected.put(row.rowNumber, "Employee not found with id: " + row.employeeId);
+                        continue;
+                    }
+                } else if (row.employeeEmail != null && !row.employeeEmail.isBlank()) {
+                    employee = employeesByEmail.get(row.employeeEmail.trim());
+                    if (employee == null) {
+                        result.rejected.put(row.rowNumber, "Employee not found with email: " + row.employeeEmail);
+                        continue;
+                    }
+                }
+
+                SubmittedForm submission = SubmittedForm.builder()
+                        .form(form)
+                        .employee(employee)
+                        .submittedAt(row.submittedAt != null ? row.submittedAt : now)
+                        .build();
+                submissions.add(submission);
+                row.answers.forEach((questionId, answer) -> newResponses.add(Response.builder()
+                        .question(questions.get(questionId))
+                        .answer(answer)
+                        .submittedForm(submission)
+                        .form(form)
+                        .build()));
+            }
+
+            submittedFormRepository.saveAll(submissions);
+            responseRepository.saveAll(newResponses);
+            sentimentJobService.enqueueTextAnswers(newResponses, SentimentJob.PRIORITY_BACKFILL);
+
+            result.submissions = submissions.size();
+            result.responses = newResponses.size();
+            return result;
+        }
+
+        Map<String, Object> finish() {
+            flush();
+
+            // One rebuild instead of a rollup update per imported submission
+            String rollupRebuild = "skipped";
+            String rollupError = null;
+            if (imported > 0) {
+                if (rollupService.isEnabled()) {
+                    try {
+                        rollupService.rebuildForm(form.getId());
+                        rollupRebuild = "ok";
+                    } catch (RuntimeException e) {
+                        // The submissions are committed either way; POST /api/analytics/forms/{id}/rollups/rebuild retries
+                        System.err.println("Rollup rebuild after import failed for form " + form.getId() + ": " + e.getMessage());
+                        rollupRebuild = "failed";
+                        rollupError = e.getMessage();
+                        dataVersions.bumpForm(form.getId());
+                    }
+                } else {
+                    dataVersions.bumpForm(form.getId());
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("formId", form.getId());
+            result.put("rows", imported + failed);
+            result.put("imported", imported);
+            result.put("responses", responses);
+            result.put("failed", failed);
+            result.put("errors", errors);
+            result.put("errorsTruncated", failed > errors.size());
+            result.put("rollupRebuild", rollupRebuild);
+            if (rollupError != null) {
+                result.put("rollupError", rollupError);
+            }
+            result.put("elapsedMs", (System.nanoTime() - startedNanos) / 1_000_000);
+            return result;
+        }
+    }
+}
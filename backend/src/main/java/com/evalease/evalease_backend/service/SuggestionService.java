@@ -16,6 +16,8 @@ public class SuggestionService {
     private FormRepository formRepo;
     @Autowired
     private SubmittedFormRepository submittedFormRepo;
+    @Autowired
+    private AnalyticsCache analyticsCache;
 
     // Advanced mapping for real-world trainer improvements
     private static class SuggestionRule {
@@ -39,7 +41,15 @@ public class SuggestionService {
         new SuggestionRule("voice", "Communication", "Work on vocal variety and projection. Consider using a lapel mic if in a large room.", "Low")
     );
 
+    // Compiled once; match i is RULES.get(i)
+    private static final KeywordMatcher RULE_MATCHER = new KeywordMatcher(
+            RULES.stream().map(rule -> rule.keyword).collect(Collectors.toList()));
+
     public List<TrainerSuggestionDTO> getSuggestions(Long formId) {
+        return analyticsCache.get("suggestions", formId, () -> computeSuggestions(formId));
+    }
+
+    private List<TrainerSuggestionDTO> computeSuggestions(Long formId) {
         Form form = formRepo.findById(formId)
                 .orElseThrow(() -> new RuntimeException("Form not found"));
 
@@ -48,13 +58,15 @@ public class SuggestionService {
 
         if (submissions.isEmpty()) return suggestions;
 
-        Map<String, Integer> keywordCounts = new HashMap<>();
+        // Responses mentioning each rule's keyword, indexed like RULES
+        int[] keywordCounts = new int[RULES.size()];
+        boolean[] seen = new boolean[RULES.size()];
         double totalRating = 0;
         int ratingCount = 0;
 
         for (SubmittedForm sf : submissions) {
             for (Response r : sf.getResponses()) {
-                String answer = r.getAnswer() != null ? r.getAnswer().toLowerCase() : "";
+                String answer = r.getAnswer() != null ? r.getAnswer() : "";
                 
                 // Track ratings
                 if (r.getQuestion().getType().equalsIgnoreCase("rating")) {
@@ -64,11 +76,11 @@ public class SuggestionService {
                     } catch (Exception ignored) {}
                 }
 
-                // Scan for keywords in text responses
-                for (SuggestionRule rule : RULES) {
-                    if (answer.contains(rule.keyword)) {
-                        keywordCounts.put(rule.keyword, keywordCounts.getOrDefault(rule.keyword, 0) + 1);
-                    }
+                // Scan for keywords in text responses, one pass for all rules
+                Arrays.fill(seen, false);
+                RULE_MATCHER.markMatches(answer, seen);
+                for (int i = 0; i < seen.length; i++) {
+                    if (seen[i]) keywordCounts[i]++;
                 }
             }
         }
@@ -95,8 +107,9 @@ public class SuggestionService {
 
         // 2. Generate Keyword-based Suggestions (only if keyword appears in > 10% of responses)
         double threshold = submissions.size() * 0.1;
-        for (SuggestionRule rule : RULES) {
-            if (keywordCounts.getOrDefault(rule.keyword, 0) > threshold) {
+        for (int i = 0; i < RULES.size(); i++) {
+            SuggestionRule rule = RULES.get(i);
+            if (keywordCounts[i] > threshold) {
                 suggestions.add(TrainerSuggestionDTO.builder()
                     .category(rule.category)
                     .observation("Significant feedback mentions: '" + rule.keyword + "'")
@@ -0,0 +1,48 @@
+package com.evalease.evalease_backend.benchmark;
+
+import com.evalease.evalease_backend.dto.SentimentResult;
+import com.evalease.evalease_backend.service.EmbeddedSentimentEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring one answer in-process. Run with: mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=EmbeddedSentiment
+ * (add -Dbenchmark.args="-prof gc" to confirm polarity() allocates nothing).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbeddedSentimentEngineBenchmark {
+
+    private static final String SHORT = "Great session, very helpful.";
+    private static final String PARAGRAPH = "The onboarding was well structured and the trainer was patient with "
+            + "questions, but the room was noisy and the slides were outdated. I didn't find the second half "
+            + "useful: it was rushed, and the examples were not very clear. Overall a good start, though the "
+            + "laptop setup should be ready before day one.";
+
+    @Param({"short", "paragraph"})
+    public String text;
+
+    private EmbeddedSentimentEngine engine;
+    private String input;
+
+    @Setup
+    public void setUp() {
+        engine = new EmbeddedSentimentEngine();
+        input = text.equals("short") ? SHORT : PARAGRAPH;
+    }
+
+    @Benchmark
+    public double polarity() {
+        return engine.polarity(input);
+    }
+
+    @Benchmark
+    public SentimentResult score() {
+        return engine.score(input);
+    }
+}
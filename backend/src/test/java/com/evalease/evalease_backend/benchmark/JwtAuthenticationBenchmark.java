@@ -0,0 +1,62 @@
+package com.evalease.evalease_backend.benchmark;
+
+import com.evalease.evalease_backend.security.JwtAuthenticationFilter;
+import com.evalease.evalease_backend.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of Bearer authentication: JwtUtil.verify alone and the whole JwtAuthenticationFilter in
+ * claims mode, with the verified-token cache on (repeat requests) and off (HMAC check on every request).
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=JwtAuthentication
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"10000", "0"})
+    public int verifiedCacheMaxEntries;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1), verifiedCacheMaxEntries);
+        // Claims mode never touches the PrincipalCache
+        filter = new JwtAuthenticationFilter(jwtUtil, null, "claims");
+        token = jwtUtil.generateToken("employee@example.com", "EMPLOYEE");
+        header = "Bearer " + token;
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        // A fresh request each time: OncePerRequestFilter skips a request it has already seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/forms");
+        request.addHeader("Authorization", header);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
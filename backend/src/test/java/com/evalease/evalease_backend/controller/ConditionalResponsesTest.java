@@ -0,0 +1,51 @@
+package com.evalease.evalease_backend.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponsesTest {
+
+    private static final String ETAG = "\"form-12-r7\"";
+
+    @Test
+    void missingOrBlankHeaderNeverMatches() {
+        assertThat(ConditionalResponses.matches(null, ETAG)).isFalse();
+        assertThat(ConditionalResponses.matches("", ETAG)).isFalse();
+        assertThat(ConditionalResponses.matches("   ", ETAG)).isFalse();
+    }
+
+    @Test
+    void matchesTheSameTag() {
+        assertThat(ConditionalResponses.matches("\"form-12-r7\"", ETAG)).isTrue();
+    }
+
+    @Test
+    void differentVersionDoesNotMatch() {
+        assertThat(ConditionalResponses.matches("\"form-12-r6\"", ETAG)).isFalse();
+        assertThat(ConditionalResponses.matches("\"form-1-r7\"", ETAG)).isFalse();
+    }
+
+    @Test
+    void unquotedTagDoesNotMatch() {
+        assertThat(ConditionalResponses.matches("form-12-r7", ETAG)).isFalse();
+    }
+
+    @Test
+    void matchesAnyTagOfAList() {
+        assertThat(ConditionalResponses.matches("\"form-12-r5\", \"form-12-r7\" ,\"x\"", ETAG)).isTrue();
+        assertThat(ConditionalResponses.matches("\"form-12-r5\",\"form-12-r6\"", ETAG)).isFalse();
+    }
+
+    @Test
+    void weakComparisonIgnoresWeakPrefix() {
+        assertThat(ConditionalResponses.matches("W/\"form-12-r7\"", ETAG)).isTrue();
+        assertThat(ConditionalResponses.matches("\"other\", W/\"form-12-r7\"", ETAG)).isTrue();
+    }
+
+    @Test
+    void wildcardMatchesAnything() {
+        assertThat(ConditionalResponses.matches("*", ETAG)).isTrue();
+        assertThat(ConditionalResponses.matches(" * ", ETAG)).isTrue();
+    }
+}
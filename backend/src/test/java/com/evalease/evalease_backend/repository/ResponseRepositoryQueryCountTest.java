@@ -0,0 +1,142 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.dto.AnswerCountDTO;
+import com.evalease.evalease_backend.dto.SentimentBucketCountDTO;
+import com.evalease.evalease_backend.entity.Form;
+import com.evalease.evalease_backend.entity.Question;
+import com.evalease.evalease_backend.entity.Response;
+import com.evalease.evalease_backend.entity.SubmittedForm;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The grouped rollup queries must cost one statement per form, not one per question or per response.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+// The application's initData runner needs a PasswordEncoder, which the JPA slice doesn't load
+@Import(BCryptPasswordEncoder.class)
+class ResponseRepositoryQueryCountTest {
+
+    private static final int SUBMISSIONS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResponseRepository responseRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void countAnswersByFormIdIsOneStatementWhateverTheQuestionCount() {
+        Long small = saveForm("five questions", 5);
+        Long large = saveForm("forty questions", 40);
+
+        List<AnswerCountDTO> smallRows = new ArrayList<>();
+        List<AnswerCountDTO> largeRows = new ArrayList<>();
+        long smallStatements = statementsFor(() -> smallRows.addAll(responseRepository.countAnswersByFormId(small)));
+        long largeStatements = statementsFor(() -> largeRows.addAll(responseRepository.countAnswersByFormId(large)));
+
+        assertThat(smallStatements).isEqualTo(1);
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(largeRows.size()).isGreaterThan(smallRows.size());
+        assertThat(largeRows).allSatisfy(row -> assertThat(row.getCount()).isEqualTo(SUBMISSIONS));
+    }
+
+    @Test
+    void countSentimentBucketsByFormIdIsOneStatementWhateverTheQuestionCount() {
+        Long small = saveForm("five questions", 5);
+        Long large = saveForm("forty questions", 40);
+
+        List<SentimentBucketCountDTO> smallRows = new ArrayList<>();
+        List<SentimentBucketCountDTO> largeRows = new ArrayList<>();
+        long smallStatements = statementsFor(() -> smallRows.addAll(responseRepository.countSentimentBucketsByFormId(small)));
+        long largeStatements = statementsFor(() -> largeRows.addAll(responseRepository.countSentimentBucketsByFormId(large)));
+
+        assertThat(smallStatements).isEqualTo(1);
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(largeRows.size()).isGreaterThan(smallRows.size());
+        assertThat(largeRows).allSatisfy(row -> assertThat(row.getPositive()).isEqualTo(SUBMISSIONS));
+    }
+
+    private long statementsFor(Supplier<Boolean> query) {
+        statistics.clear();
+        query.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Rating, multiple choice and text questions in turn, each answered by every submission
+    private Long saveForm(String title, int questionCount) {
+        Form form = Form.builder()
+                .title(title)
+                .createdAt(Instant.now())
+                .questions(new ArrayList<>())
+                .build();
+        for (int i = 0; i < questionCount; i++) {
+            String type = switch (i % 3) {
+                case 0 -> "rating";
+                case 1 -> "multiple";
+                default -> "text";
+            };
+            form.getQuestions().add(Question.builder()
+                    .title("Question " + i)
+                    .type(type)
+                    .ratingScale(type.equals("rating") ? 5 : null)
+                    .form(form)
+                    .build());
+        }
+        entityManager.persist(form);
+
+        for (int s = 0; s < SUBMISSIONS; s++) {
+            SubmittedForm submission = SubmittedForm.builder()
+                    .form(form)
+                    .submittedAt(LocalDateTime.now().minusMinutes(s))
+                    .responses(new ArrayList<>())
+                    .build();
+            for (Question question : form.getQuestions()) {
+                boolean text = question.getType().equals("text");
+                submission.getResponses().add(Response.builder()
+                        .question(question)
+                        .form(form)
+                        .submittedForm(submission)
+                        .answer(switch (question.getType()) {
+                            case "rating" -> "4";
+                            case "multiple" -> "Option A";
+                            default -> "Clear goals and helpful feedback";
+                        })
+                        .sentimentScore(text ? 0.5 : null)
+                        .build());
+            }
+            entityManager.persist(submission);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return form.getId();
+    }
+}
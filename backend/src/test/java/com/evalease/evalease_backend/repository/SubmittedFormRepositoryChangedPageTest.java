@@ -0,0 +1,110 @@
+package com.evalease.evalease_backend.repository;
+
+import com.evalease.evalease_backend.dto.SubmissionRowDTO;
+import com.evalease.evalease_backend.entity.Form;
+import com.evalease.evalease_backend.entity.SubmittedForm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The incremental export pages by changed_at, so a low id committed late or a submission scored later is still
+ * picked up by the next pull.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(BCryptPasswordEncoder.class)
+class SubmittedFormRepositoryChangedPageTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T12:00:00Z");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SubmittedFormRepository submittedFormRepository;
+
+    private Form form;
+
+    @BeforeEach
+    void setUp() {
+        form = entityManager.persist(Form.builder()
+                .title("Export")
+                .createdAt(T0)
+                .questions(new ArrayList<>())
+                .build());
+    }
+
+    @Test
+    void returnsOnlyChangesInsideTheWindowOldestFirst() {
+        Long late = save(T0.plusSeconds(30));
+        Long early = save(T0.plusSeconds(10));
+        save(T0);
+        save(T0.plusSeconds(60));
+
+        List<SubmissionRowDTO> rows = submittedFormRepository.findChangedPage(
+                form.getId(), T0, T0.plusSeconds(59), PageRequest.of(0, 10));
+
+        assertThat(rows).extracting(SubmissionRowDTO::getId).containsExactly(early, late);
+    }
+
+    @Test
+    void pagesThroughEqualTimestampsByIdWithoutGapsOrRepeats() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(save(T0.plusSeconds(1)));
+        }
+        Instant until = T0.plusSeconds(1);
+
+        List<Long> seen = new ArrayList<>();
+        List<SubmissionRowDTO> page = submittedFormRepository.findChangedPage(form.getId(), T0, until, PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(row -> seen.add(row.getId()));
+            SubmissionRowDTO last = page.get(page.size() - 1);
+            page = submittedFormRepository.findChangedPageAfter(
+                    form.getId(), last.getChangedAt(), last.getId(), until, PageRequest.of(0, 2));
+        }
+
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void markChangedBringsAnExportedSubmissionBack() {
+        Long id = save(T0.plusSeconds(1));
+        Instant firstWatermark = T0.plusSeconds(5);
+
+        submittedFormRepository.markChanged(List.of(id), T0.plusSeconds(10));
+        entityManager.clear();
+
+        assertThat(submittedFormRepository.findChangedPage(
+                form.getId(), firstWatermark, T0.plusSeconds(20), PageRequest.of(0, 10)))
+                .extracting(SubmissionRowDTO::getId).containsExactly(id);
+    }
+
+    private Long save(Instant changedAt) {
+        SubmittedForm submission = SubmittedForm.builder()
+                .form(form)
+                .submittedAt(LocalDateTime.of(2020, 1, 1, 0, 0))
+                .responses(new ArrayList<>())
+                .build();
+        submission.setChangedAt(changedAt);
+        entityManager.persist(submission);
+        entityManager.flush();
+        return submission.getId();
+    }
+}
@@ -0,0 +1,56 @@
+package com.evalease.evalease_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The embedded engine replaces the TextBlob service, so it must bucket feedback the way TextBlob does on the
+ * checked-in corpus (see the corpus header for where its labels come from).
+ */
+class EmbeddedSentimentEngineAgreementTest {
+
+    private static final String CORPUS = "sentiment/agreement-corpus.tsv";
+    private static final double MIN_AGREEMENT = 0.9;
+
+    private final EmbeddedSentimentEngine engine = new EmbeddedSentimentEngine();
+
+    @Test
+    void labelsAgreeWithTextBlobOnTheCorpus() throws IOException {
+        List<String[]> corpus = readCorpus();
+        List<String> disagreements = new ArrayList<>();
+        for (String[] row : corpus) {
+            String label = engine.score(row[1]).getPolarity();
+            if (!label.equals(row[0])) {
+                disagreements.add(row[0] + " -> " + label + ": " + row[1]);
+            }
+        }
+
+        double agreement = 1.0 - (double) disagreements.size() / corpus.size();
+        assertThat(corpus).hasSizeGreaterThanOrEqualTo(50);
+        assertThat(agreement)
+                .as("agreement with TextBlob labels, disagreements: %s", disagreements)
+                .isGreaterThanOrEqualTo(MIN_AGREEMENT);
+    }
+
+    private static List<String[]> readCorpus() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(CORPUS).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                rows.add(line.split("\t", 2));
+            }
+        }
+        return rows;
+    }
+}
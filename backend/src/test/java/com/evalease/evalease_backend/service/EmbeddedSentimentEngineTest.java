@@ -0,0 +1,83 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.dto.SentimentResult;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EmbeddedSentimentEngineTest {
+
+    private static final Offset<Double> EPSILON = within(1e-6);
+
+    private final EmbeddedSentimentEngine engine = new EmbeddedSentimentEngine();
+
+    @Test
+    void loadsTheLexicon() {
+        assertThat(engine.getLexiconSize()).isGreaterThan(250);
+    }
+
+    @Test
+    void scoresALexiconWordWhateverItsCase() {
+        assertThat(engine.polarity("good")).isCloseTo(0.7, EPSILON);
+        assertThat(engine.polarity("The session was GOOD")).isCloseTo(0.7, EPSILON);
+    }
+
+    @Test
+    void textWithoutLexiconWordsIsZero() {
+        assertThat(engine.polarity("The meeting is on Tuesday")).isZero();
+        assertThat(engine.polarity("")).isZero();
+        assertThat(engine.polarity(null)).isZero();
+    }
+
+    @Test
+    void averagesThePolarityWords() {
+        assertThat(engine.polarity("good and bad")).isCloseTo(0.0, EPSILON);
+    }
+
+    @Test
+    void negationFlipsAndHalvesTheNextPolarityWord() {
+        assertThat(engine.polarity("not good")).isCloseTo(-0.35, EPSILON);
+        assertThat(engine.polarity("not bad")).isCloseTo(0.35, EPSILON);
+        assertThat(engine.polarity("It wasn't good")).isCloseTo(-0.35, EPSILON);
+    }
+
+    @Test
+    void anyNtContractionNegatesEvenOutsideTheLexicon() {
+        assertThat(engine.polarity("The slides needn't be good")).isCloseTo(-0.35, EPSILON);
+    }
+
+    @Test
+    void intensifiersMultiplyAndAreClamped() {
+        assertThat(engine.polarity("very good")).isCloseTo(0.91, EPSILON);
+        assertThat(engine.polarity("very very good")).isCloseTo(1.0, EPSILON);
+        assertThat(engine.polarity("extremely terrible")).isCloseTo(-1.0, EPSILON);
+    }
+
+    @Test
+    void modifiersReachOnlyAShortGap() {
+        assertThat(engine.polarity("not at all good")).isCloseTo(-0.35, EPSILON);
+        assertThat(engine.polarity("not the room we booked was good")).isCloseTo(0.7, EPSILON);
+    }
+
+    @Test
+    void punctuationEndsAModifier() {
+        assertThat(engine.polarity("Not, good")).isCloseTo(0.7, EPSILON);
+        assertThat(engine.polarity("very. good")).isCloseTo(0.7, EPSILON);
+    }
+
+    @Test
+    void scoreIsRoundedAndLabelledLikeThePythonService() {
+        SentimentResult positive = engine.score("very good");
+        assertThat(positive.getScore()).isEqualTo(0.91);
+        assertThat(positive.getPolarity()).isEqualTo("positive");
+
+        SentimentResult negative = engine.score("slow");
+        assertThat(negative.getScore()).isEqualTo(-0.3);
+        assertThat(negative.getPolarity()).isEqualTo("negative");
+
+        assertThat(engine.score("good and bad").getPolarity()).isEqualTo("neutral");
+        assertThat(engine.score(null).getPolarity()).isEqualTo("neutral");
+    }
+}
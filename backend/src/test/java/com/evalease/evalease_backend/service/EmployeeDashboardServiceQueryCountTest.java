@@ -0,0 +1,173 @@
+package com.evalease.evalease_backend.service;
+
+import com.evalease.evalease_backend.entity.Employee;
+import com.evalease.evalease_backend.entity.Form;
+import com.evalease.evalease_backend.entity.Question;
+import com.evalease.evalease_backend.entity.Response;
+import com.evalease.evalease_backend.entity.Role;
+import com.evalease.evalease_backend.entity.SubmittedForm;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A history page is three statements (employee check, submissions, their answers) for one submission or many.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+// BCryptPasswordEncoder for the application's initData runner, which the JPA slice still picks up
+@Import({EmployeeDashboardService.class, BCryptPasswordEncoder.class})
+class EmployeeDashboardServiceQueryCountTest {
+
+    private static final int QUESTIONS = 4;
+    private static final int MANY = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EmployeeDashboardService employeeDashboardService;
+
+    private Statistics statistics;
+    private List<Form> forms;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        forms = List.of(saveForm("Quarterly review"), saveForm("Team survey"), saveForm("Onboarding"));
+    }
+
+    @Test
+    void historyStatementsDoNotGrowWithSubmissions() {
+        Long one = saveEmployee("one@example.com", 1);
+        Long many = saveEmployee("many@example.com", MANY);
+
+        statistics.clear();
+        Map<String, Object> oneHistory = employeeDashboardService.getEmployeeFeedbackHistory(one, null, null, 50);
+        long oneStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Map<String, Object> manyHistory = employeeDashboardService.getEmployeeFeedbackHistory(many, null, null, 50);
+        long manyStatements = statistics.getPrepareStatementCount();
+
+        assertThat(oneStatements).isEqualTo(3);
+        assertThat(manyStatements).isEqualTo(oneStatements);
+        assertThat(items(oneHistory)).hasSize(1);
+        assertThat(items(manyHistory)).hasSize(MANY)
+                .allSatisfy(item -> assertThat((List<?>) item.get("responses")).hasSize(QUESTIONS));
+    }
+
+    @Test
+    void laterPagesCostTheSameAsTheFirst() {
+        Long many = saveEmployee("many@example.com", MANY);
+
+        statistics.clear();
+        Map<String, Object> first = employeeDashboardService.getEmployeeFeedbackHistory(many, null, null, 10);
+        long firstStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        Map<String, Object> second = employeeDashboardService.getEmployeeFeedbackHistory(
+                many, null, (String) first.get("nextCursor"), 10);
+        long secondStatements = statistics.getPrepareStatementCount();
+
+        assertThat(secondStatements).isEqualTo(firstStatements);
+        assertThat(items(second)).hasSize(10);
+        assertThat(items(second).get(0).get("submissionId"))
+                .isNotEqualTo(items(first).get(0).get("submissionId"));
+    }
+
+    @Test
+    void formFilterPagesOnlyThatForm() {
+        Long many = saveEmployee("many@example.com", MANY);
+        Long formId = forms.get(0).getId();
+
+        statistics.clear();
+        Map<String, Object> first = employeeDashboardService.getEmployeeFeedbackHistory(many, formId, null, 4);
+        long firstStatements = statistics.getPrepareStatementCount();
+        Map<String, Object> second = employeeDashboardService.getEmployeeFeedbackHistory(
+                many, formId, (String) first.get("nextCursor"), 100);
+
+        assertThat(firstStatements).isEqualTo(3);
+        assertThat(items(first)).hasSize(4);
+        // Every third submission is of the first form
+        assertThat(items(second)).hasSize(MANY / forms.size() - 4)
+                .allSatisfy(item -> assertThat(item.get("formId")).isEqualTo(formId));
+        assertThat(second.get("nextCursor")).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> items(Map<String, Object> history) {
+        return (List<Map<String, Object>>) history.get("items");
+    }
+
+    private Form saveForm(String title) {
+        Form form = Form.builder()
+                .title(title)
+                .createdAt(Instant.now())
+                .questions(new ArrayList<>())
+                .build();
+        for (int i = 0; i < QUESTIONS; i++) {
+            form.getQuestions().add(Question.builder()
+                    .title("Question " + i)
+                    .type(i == 0 ? "text" : "rating")
+                    .ratingScale(i == 0 ? null : 5)
+                    .form(form)
+                    .build());
+        }
+        return entityManager.persist(form);
+    }
+
+    // Submissions cycle through the forms, one minute apart
+    private Long saveEmployee(String email, int submissions) {
+        Employee employee = entityManager.persist(Employee.builder()
+                .name("Employee " + email)
+                .email(email)
+                .password("not-a-real-hash")
+                .role(Role.EMPLOYEE)
+                .build());
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int s = 0; s < submissions; s++) {
+            Form form = forms.get(s % forms.size());
+            SubmittedForm submission = SubmittedForm.builder()
+                    .form(form)
+                    .employee(employee)
+                    .submittedAt(start.plusMinutes(s))
+                    .responses(new ArrayList<>())
+                    .build();
+            for (Question question : form.getQuestions()) {
+                boolean text = question.getType().equals("text");
+                submission.getResponses().add(Response.builder()
+                        .question(question)
+                        .form(form)
+                        .submittedForm(submission)
+                        .answer(text ? "Helpful and on time" : "4")
+                        .sentimentScore(text ? 0.4 : null)
+                        .build());
+            }
+            entityManager.persist(submission);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return employee.getId();
+    }
+}
@@ -0,0 +1,85 @@
+package com.evalease.evalease_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    private static List<String> matches(KeywordMatcher matcher, List<String> keywords, String text) {
+        List<String> found = new ArrayList<>();
+        matcher.forEachMatch(text, k -> found.add(keywords.get(k)));
+        return found;
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        List<String> keywords = List.of("fast");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        assertThat(matches(matcher, keywords, "way too fast!")).containsExactly("fast");
+        assertThat(matches(matcher, keywords, "fast")).containsExactly("fast");
+        assertThat(matches(matcher, keywords, "breakfast was late")).isEmpty();
+        assertThat(matches(matcher, keywords, "fastest pace")).isEmpty();
+        assertThat(matches(matcher, keywords, "fast2")).isEmpty();
+    }
+
+    @Test
+    void ignoresCase() {
+        List<String> keywords = List.of("Slides");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        assertThat(matches(matcher, keywords, "the SLIDES were fine, the slides were long"))
+                .containsExactly("Slides", "Slides");
+    }
+
+    @Test
+    void reportsEveryKeywordInTextOrder() {
+        List<String> keywords = List.of("time", "on time", "late");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        // "on time" and its suffix "time" both end at the same character
+        assertThat(matches(matcher, keywords, "Started late, ended on time."))
+                .containsExactly("late", "on time", "time");
+    }
+
+    @Test
+    void suffixOfAnotherWordDoesNotMatch() {
+        List<String> keywords = List.of("he", "she", "hers");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        assertThat(matches(matcher, keywords, "she said hers")).containsExactly("she", "hers");
+    }
+
+    @Test
+    void handlesNonAsciiKeywords() {
+        List<String> keywords = List.of("café", "naïve");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        assertThat(matches(matcher, keywords, "The CAFÉ felt naïve; cafés were better"))
+                .containsExactly("café", "naïve");
+    }
+
+    @Test
+    void markMatchesSetsSeenFlags() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("noise", "slides", "room"));
+        boolean[] seen = new boolean[matcher.size()];
+
+        matcher.markMatches("Too much noise in the room", seen);
+
+        assertThat(seen).containsExactly(true, false, true);
+    }
+
+    @Test
+    void nullTextAndEmptyKeywordMatchNothing() {
+        List<String> keywords = List.of("", "room");
+        KeywordMatcher matcher = new KeywordMatcher(keywords);
+
+        assertThat(matches(matcher, keywords, null)).isEmpty();
+        assertThat(matches(matcher, keywords, "a room")).containsExactly("room");
+        assertThat(matcher.size()).isEqualTo(2);
+    }
+}
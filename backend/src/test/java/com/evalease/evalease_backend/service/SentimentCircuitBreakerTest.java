@@ -0,0 +1,117 @@
+package com.evalease.evalease_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentimentCircuitBreakerTest {
+
+    private static final long LONG_OPEN = 60_000;
+
+    private static void fail(SentimentCircuitBreaker breaker, int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure("timeout");
+        }
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRefusesCalls() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 3, LONG_OPEN, 1);
+
+        fail(breaker, 2);
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.CLOSED);
+
+        fail(breaker, 1);
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getStats()).containsEntry("refused", 2L);
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 3, LONG_OPEN, 1);
+
+        fail(breaker, 2);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        fail(breaker, 2);
+
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void letsOnlyTheTrialCallsThroughOnceTheOpenPeriodHasPassed() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 1, 0, 2);
+        fail(breaker, 1);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void trialSuccessCloses() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 1, 0, 1);
+        fail(breaker, 1);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void trialFailureReopens() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 1, 0, 1);
+        fail(breaker, 1);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure("still down");
+
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.OPEN);
+        assertThat(breaker.getStats()).containsEntry("failures", 2L);
+    }
+
+    @Test
+    void releasedTrialPermitCanBeTakenAgain() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 1, 0, 1);
+        fail(breaker, 1);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.release();
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void disabledBreakerNeverOpens() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(false, 1, LONG_OPEN, 1);
+
+        fail(breaker, 5);
+
+        assertThat(breaker.getState()).isEqualTo(SentimentCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getStats()).containsEntry("failures", 5L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsTransitionsNewestFirst() {
+        SentimentCircuitBreaker breaker = new SentimentCircuitBreaker(true, 1, 0, 1);
+        fail(breaker, 1);
+        breaker.tryAcquire();
+        breaker.onSuccess();
+
+        List<Map<String, Object>> transitions = (List<Map<String, Object>>) breaker.getStats().get("transitions");
+        assertThat(transitions).extracting(t -> t.get("from") + "->" + t.get("to"))
+                .containsExactly("HALF_OPEN->CLOSED", "OPEN->HALF_OPEN", "CLOSED->OPEN");
+    }
+}
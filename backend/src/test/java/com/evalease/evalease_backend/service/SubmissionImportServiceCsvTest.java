@@ -0,0 +1,78 @@
+package com.evalease.evalease_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionImportServiceCsvTest {
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = SubmissionImportService.readCsvRecord(reader)) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void splitsPlainRecords() throws IOException {
+        assertThat(readAll("Employee ID,Rating\n7,4\n"))
+                .containsExactly(List.of("Employee ID", "Rating"), List.of("7", "4"));
+    }
+
+    @Test
+    void lastRecordNeedsNoLineBreak() throws IOException {
+        assertThat(readAll("a,b\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll(",x,,\n")).containsExactly(List.of("", "x", "", ""));
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() throws IOException {
+        String csv = "\"Good, mostly\",\"He said \"\"great\"\"\",\"line one\nline two\"\nnext,row\n";
+
+        assertThat(readAll(csv)).containsExactly(
+                List.of("Good, mostly", "He said \"great\"", "line one\nline two"),
+                List.of("next", "row"));
+    }
+
+    @Test
+    void acceptsCrLfAndBareCrLineEndings() throws IOException {
+        assertThat(readAll("a,b\r\nc,d\re,f\r\n"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+    }
+
+    @Test
+    void blankLineIsOneEmptyField() throws IOException {
+        assertThat(readAll("a\n\nb\n")).containsExactly(List.of("a"), List.of(""), List.of("b"));
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsKept() throws IOException {
+        assertThat(readAll("5\" screen,ok\n")).containsExactly(List.of("5\" screen", "ok"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThatThrownBy(() -> readAll("\"never closed,1\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated");
+    }
+}
@@ -1,4 +1,6 @@
 import os
+import random
+import time
 from flask import Flask, request, jsonify
 from flask_cors import CORS
 from textblob import TextBlob
@@ -7,21 +9,33 @@ from textblob import TextBlob
 app = Flask(__name__)
 CORS(app)
 
+# Fault injection for exercising the backend's timeouts and circuit breaker against a local instance.
+# Both are off unless set: INJECT_LATENCY_MS delays every scoring request, INJECT_ERROR_RATE (0..1) fails a share with 503.
+INJECT_LATENCY_MS = int(os.environ.get("INJECT_LATENCY_MS", 0))
+INJECT_ERROR_RATE = float(os.environ.get("INJECT_ERROR_RATE", 0))
+
+
+@app.before_request
+def inject_faults():
+    if not request.path.startswith('/api/'):
+        return None
+    if INJECT_LATENCY_MS > 0:
+        time.sleep(INJECT_LATENCY_MS / 1000.0)
+    if INJECT_ERROR_RATE > 0 and random.random() < INJECT_ERROR_RATE:
+        return jsonify({"error": "Injected failure"}), 503
+    return None
+
 # Root route for health check
 @app.route('/')
 def health_check():
     return jsonify({"status": "AI Sentiment Service is running"}), 200
 
-# Sentiment analysis route
-@app.route('/api/sentiment', methods=['POST'])
-def analyze_sentiment():
-    data = request.get_json()
-    if not data or "text" not in data:
-        return jsonify({"error": "Missing 'text' in request body"}), 400
-        
-    text = data.get("text", "")
+# Upper bound on texts per batch request, keeps a single request's latency predictable
+MAX_BATCH_SIZE = int(os.environ.get("MAX_BATCH_SIZE", 500))
 
-    blob = TextBlob(text)
+
+def score_text(text):
+    blob = TextBlob(text or "")
     polarity = blob.sentiment.polarity
 
     if polarity > 0.1:
@@ -31,10 +45,36 @@ def analyze_sentiment():
     else:
         sentiment = "neutral"
 
-    return jsonify({
+    return {
         "polarity": sentiment,
         "score": round(polarity, 3)
-    })
+    }
+
+
+# Sentiment analysis route
+@app.route('/api/sentiment', methods=['POST'])
+def analyze_sentiment():
+    data = request.get_json()
+    if not data or "text" not in data:
+        return jsonify({"error": "Missing 'text' in request body"}), 400
+        
+    text = data.get("text", "")
+
+    return jsonify(score_text(text))
+
+
+# Batch route: {"texts": [...]} -> {"results": [...]} in the same order
+@app.route('/api/sentiment/batch', methods=['POST'])
+def analyze_sentiment_batch():
+    data = request.get_json()
+    if not data or not isinstance(data.get("texts"), list):
+        return jsonify({"error": "Missing 'texts' list in request body"}), 400
+
+    texts = data["texts"]
+    if len(texts) > MAX_BATCH_SIZE:
+        return jsonify({"error": f"At most {MAX_BATCH_SIZE} texts per request"}), 413
+
+    return jsonify({"results": [score_text(text) for text in texts]})
 
 if __name__ == '__main__':
     # Use PORT from environment for deployment (Render requirement)
@@ -0,0 +1,38 @@
+"""Relabels the backend's sentiment agreement corpus with TextBlob's actual output.
+
+Usage: python label_corpus.py ../backend/src/test/resources/sentiment/agreement-corpus.tsv [--write]
+Prints every line whose label changes; --write rewrites the file in place.
+"""
+import sys
+
+import textblob
+
+from app import score_text
+
+HEADER = [
+    "# Feedback answers with the label TextBlob gives them (polarity > 0.1 positive, < -0.1 negative).\n",
+    "# <label>\\t<text>, read by EmbeddedSentimentEngineAgreementTest.\n",
+    "#\n",
+    f"# Labels generated by TextBlob {textblob.__version__} with feedback-sentiment-api/label_corpus.py.\n",
+]
+
+
+def main(path, write):
+    rows = []
+    with open(path, encoding="utf-8") as corpus:
+        for line in corpus:
+            if line.startswith("#") or not line.strip():
+                continue
+            label, text = line.rstrip("\n").split("\t", 1)
+            actual = score_text(text)["polarity"]
+            if actual != label:
+                print(f"{label} -> {actual}\t{text}")
+            rows.append(f"{actual}\t{text}\n")
+
+    if write:
+        with open(path, "w", encoding="utf-8") as corpus:
+            corpus.writelines(HEADER + rows)
+
+
+if __name__ == "__main__":
+    main(sys.argv[1], "--write" in sys.argv[2:])
@@ -63,9 +63,15 @@ interface SummaryData {
   totalResponses: number;
 }
 
+// Catalog page size for the forms list; further pages load on demand
+const FORMS_PAGE_SIZE = 50;
+
 const Analytics: React.FC = () => {
   const navigate = useNavigate();
   const [forms, setForms] = useState<any[]>([]);
+  const [formsPage, setFormsPage] = useState(0);
+  const [formsTotal, setFormsTotal] = useState(0);
+  const [loadingMoreForms, setLoadingMoreForms] = useState(false);
   const [sentimentData, setSentimentData] = useState<any[]>([]);
   const [responseCounts, setResponseCounts] = useState<any[]>([]);
   const [selectedFormId, setSelectedFormId] = useState<string>("");
@@ -132,13 +138,26 @@ const Analytics: React.FC = () => {
       .then((res) => setResponseCounts(res?.data || []))
       .catch((err) => console.error("Failed to fetch response counts", err));
 
-    getForms()
+    loadForms(0);
+  }, []);
+
+  const loadForms = (pageToLoad: number) => {
+    setLoadingMoreForms(true);
+    getForms({ page: pageToLoad, size: FORMS_PAGE_SIZE })
       .then((res) => {
-        console.log("Forms received:", res.data);
-        setForms(res?.data || []);
+        const items = res?.data?.items || [];
+        // A form created between two page loads shifts the pages; skip the ones already shown
+        setForms((prev) => {
+          if (pageToLoad === 0) return items;
+          const seen = new Set(prev.map((f) => f.id));
+          return [...prev, ...items.filter((f: any) => !seen.has(f.id))];
+        });
+        setFormsTotal(res?.data?.total ?? items.length);
+        setFormsPage(pageToLoad);
       })
-      .catch((err) => console.error("Error fetching forms:", err));
-  }, []);
+      .catch((err) => console.error("Error fetching forms:", err))
+      .finally(() => setLoadingMoreForms(false));
+  };
 
   const participationData = Array.isArray(responseCounts) 
     ? responseCounts.map((item) => {
@@ -217,7 +236,7 @@ const Analytics: React.FC = () => {
               <div className="flex justify-between items-start">
                 <div>
                   <p className="text-blue-100 text-sm font-medium mb-1 uppercase tracking-wider">Total Active Forms</p>
-                  <p className="text-4xl font-bold">{summary?.totalForms || (Array.isArray(forms) ? forms.length : 0)}</p>
+                  <p className="text-4xl font-bold">{summary?.totalForms || formsTotal}</p>
                 </div>
                 <div className="bg-white/20 p-2 rounded-xl">
                   <TrendingUp className="w-6 h-6" />
@@ -465,6 +484,18 @@ const Analytics: React.FC = () => {
               );
             })}
           </div>
+          {forms.length < formsTotal && (
+            <div className="flex flex-col items-center gap-2 -mt-6">
+              <button
+                onClick={() => loadForms(formsPage + 1)}
+                disabled={loadingMoreForms}
+                className="px-6 py-2.5 bg-white dark:bg-gray-800 border border-gray-200 dark:border-gray-700 text-gray-700 dark:text-gray-200 rounded-xl text-sm font-semibold hover:bg-gray-100 dark:hover:bg-gray-700 transition-colors disabled:opacity-60 disabled:cursor-wait"
+              >
+                {loadingMoreForms ? "Loading..." : "Load more"}
+              </button>
+              <p className="text-xs text-gray-500 dark:text-gray-400">Showing {forms.length} of {formsTotal}</p>
+            </div>
+          )}
         </div>
       </div>
 
@@ -34,6 +34,7 @@ interface DashboardForm {
 
 interface SubmissionHistory {
   submissionId: number;
+  formId: number;
   formTitle: string;
   submittedAt: string;
   responses: Array<{
@@ -43,17 +44,23 @@ interface SubmissionHistory {
   }>;
 }
 
+// Forms per list fetched at a time; "Load more" asks for the next page of both lists
+const PAGE_SIZE = 24;
+
 const EmployeeDashboard = ({ user, onLogout }) => {
   const navigate = useNavigate();
   const [pendingForms, setPendingForms] = useState<DashboardForm[]>([]);
   const [completedForms, setCompletedForms] = useState<DashboardForm[]>([]);
+  const [pendingTotal, setPendingTotal] = useState(0);
+  const [completedTotal, setCompletedTotal] = useState(0);
+  const [page, setPage] = useState(0);
   const [loadingForms, setLoadingForms] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [errorForms, setErrorForms] = useState<string | null>(null);
   const [viewMode, setViewMode] = useState<'grid' | 'list'>('grid');
   const [searchQuery, setSearchQuery] = useState("");
   
   // History Modal State
-  const [history, setHistory] = useState<SubmissionHistory[]>([]);
   const [selectedHistory, setSelectedHistory] = useState<SubmissionHistory | null>(null);
   const [loadingHistory, setLoadingHistory] = useState(false);
   const [showCertificate, setShowCertificate] = useState<SubmissionHistory | null>(null);
@@ -67,19 +74,21 @@ const EmployeeDashboard = ({ user, onLogout }) => {
     window.print();
   };
 
-  const fetchEmployeeForms = useCallback(async () => {
-    setLoadingForms(true);
+  // Page 0 replaces both lists, later pages are appended to them
+  const fetchEmployeeForms = useCallback(async (pageToLoad = 0) => {
+    const setLoading = pageToLoad === 0 ? setLoadingForms : setLoadingMore;
+    setLoading(true);
     setErrorForms(null);
 
     if (!user?.id) {
       setErrorForms("Employee ID not found. Please log in.");
-      setLoadingForms(false);
+      setLoading(false);
       return;
     }
 
     try {
       const apiBaseUrl = API_BASE_URL;
-      const fetchUrl = `${apiBaseUrl}/api/employee-dashboard/forms/${user.id}`;
+      const fetchUrl = `${apiBaseUrl}/api/employee-dashboard/forms/${user.id}?page=${pageToLoad}&size=${PAGE_SIZE}`;
       const token = localStorage.getItem('token');
       
       const res = await fetch(fetchUrl, {
@@ -88,24 +97,36 @@ const EmployeeDashboard = ({ user, onLogout }) => {
       
       if (!res.ok) throw new Error("Failed to fetch forms");
       const data = await res.json();
-      setPendingForms(data.data.pendingForms || []);
-      setCompletedForms(data.data.completedForms || []);
+      const pending: DashboardForm[] = data.data.pendingForms || [];
+      const completed: DashboardForm[] = data.data.completedForms || [];
+      // A form submitted meanwhile moves between the lists and can come back on the next page, so skip repeats
+      const append = (prev: DashboardForm[], next: DashboardForm[]) =>
+        [...prev, ...next.filter(form => !prev.some(p => p.id === form.id))];
+      setPendingForms(prev => pageToLoad === 0 ? pending : append(prev, pending));
+      setCompletedForms(prev => pageToLoad === 0 ? completed : append(prev, completed));
+      // Lists are paged by the API; the totals cover every form
+      setPendingTotal(data.data.pendingTotal ?? pending.length);
+      setCompletedTotal(data.data.completedTotal ?? completed.length);
+      setPage(pageToLoad);
     } catch (err: any) {
       setErrorForms(`Error: ${err.message}`);
     } finally {
-      setLoadingForms(false);
+      setLoading(false);
     }
   }, [user?.id]);
 
-  const fetchHistory = async () => {
+  const loadMore = () => fetchEmployeeForms(page + 1);
+
+  // Latest submission for one form; the history API is paged, so ask for just that form
+  const fetchHistory = async (formId: number) => {
     setLoadingHistory(true);
     try {
       const token = localStorage.getItem('token');
-      const res = await fetch(`${API_BASE_URL}/api/employee-dashboard/submissions/${user.id}/details`, {
+      const res = await fetch(`${API_BASE_URL}/api/employee-dashboard/submissions/${user.id}/details?formId=${formId}&limit=1`, {
         headers: { 'Authorization': `Bearer ${token}` }
       });
       const data = await res.json();
-      if (data.success) setHistory(data.data);
+      if (data.success && data.data.items.length > 0) setSelectedHistory(data.data.items[0]);
     } catch (err) {
       console.error("Failed to fetch history", err);
     } finally {
@@ -204,9 +225,7 @@ const EmployeeDashboard = ({ user, onLogout }) => {
           ) : (
             <button 
               onClick={() => {
-                fetchHistory();
-                const sub = history.find(h => h.formTitle === form.title);
-                if (sub) setSelectedHistory(sub);
+                fetchHistory(form.id);
               }}
               className="w-full py-2.5 px-4 bg-emerald-50 dark:bg-emerald-900/20 text-emerald-700 dark:text-emerald-400 rounded-xl text-sm font-semibold flex items-center justify-center gap-2 border border-emerald-100 dark:border-emerald-800/50 hover:bg-emerald-100 dark:hover:bg-emerald-900/40 transition-colors"
             >
@@ -219,6 +238,19 @@ const EmployeeDashboard = ({ user, onLogout }) => {
     );
   };
 
+  const LoadMoreButton = ({ shown, total }: { shown: number, total: number }) => (
+    <div className="flex flex-col items-center gap-2 mt-6">
+      <button
+        onClick={loadMore}
+        disabled={loadingMore}
+        className="px-6 py-2.5 bg-white dark:bg-slate-800 border border-slate-200 dark:border-slate-700 text-slate-700 dark:text-slate-200 rounded-xl text-sm font-semibold hover:bg-slate-100 dark:hover:bg-slate-700 transition-colors disabled:opacity-60 disabled:cursor-wait"
+      >
+        {loadingMore ? "Loading..." : "Load more"}
+      </button>
+      <p className="text-xs text-slate-500 dark:text-slate-400">Showing {shown} of {total}</p>
+    </div>
+  );
+
   return (
     <div className="min-h-screen bg-slate-50 dark:bg-slate-950 transition-colors duration-300">
       {/* Header */}
@@ -261,7 +293,7 @@ const EmployeeDashboard = ({ user, onLogout }) => {
               </div>
               <div>
                 <p className="text-sm text-slate-500 dark:text-slate-400 font-medium">Pending Tasks</p>
-                <p className="text-2xl font-bold text-slate-900 dark:text-white">{pendingForms.length}</p>
+                <p className="text-2xl font-bold text-slate-900 dark:text-white">{pendingTotal}</p>
               </div>
             </div>
           </div>
@@ -272,7 +304,7 @@ const EmployeeDashboard = ({ user, onLogout }) => {
               </div>
               <div>
                 <p className="text-sm text-slate-500 dark:text-slate-400 font-medium">Completed</p>
-                <p className="text-2xl font-bold text-slate-900 dark:text-white">{completedForms.length}</p>
+                <p className="text-2xl font-bold text-slate-900 dark:text-white">{completedTotal}</p>
               </div>
             </div>
           </div>
@@ -284,8 +316,8 @@ const EmployeeDashboard = ({ user, onLogout }) => {
               <div>
                 <p className="text-sm text-slate-500 dark:text-slate-400 font-medium">Completion Rate</p>
                 <p className="text-2xl font-bold text-slate-900 dark:text-white">
-                  {pendingForms.length + completedForms.length > 0 
-                    ? Math.round((completedForms.length / (pendingForms.length + completedForms.length)) * 100)
+                  {pendingTotal + completedTotal > 0 
+                    ? Math.round((completedTotal / (pendingTotal + completedTotal)) * 100)
                     : 0}%
                 </p>
               </div>
@@ -328,12 +360,17 @@ const EmployeeDashboard = ({ user, onLogout }) => {
                 <div className={viewMode === 'grid' ? "grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6" : "space-y-4"}>
                   {filteredPending.map((form) => <FormCard key={form.id} form={form} isPending={true} />)}
                 </div>
+              ) : pendingForms.length < pendingTotal ? (
+                <p className="text-slate-500 dark:text-slate-400 text-sm italic text-center py-12">No matches among the forms loaded so far.</p>
               ) : (
                 <div className="bg-white dark:bg-slate-800 border border-dashed border-slate-300 dark:border-slate-700 rounded-2xl p-12 text-center">
                   <CheckCircle className="h-12 w-12 text-slate-300 dark:text-slate-600 mx-auto mb-4" />
                   <h3 className="text-slate-900 dark:text-white font-semibold">All Caught Up!</h3>
                 </div>
               )}
+              {pendingForms.length < pendingTotal && (
+                <LoadMoreButton shown={pendingForms.length} total={pendingTotal} />
+              )}
             </section>
 
             <section>
@@ -346,7 +383,12 @@ const EmployeeDashboard = ({ user, onLogout }) => {
                   {filteredCompleted.map((form) => <FormCard key={form.id} form={form} isPending={false} />)}
                 </div>
               ) : (
-                <p className="text-slate-500 dark:text-slate-400 text-sm italic text-center py-12">No submissions yet.</p>
+                <p className="text-slate-500 dark:text-slate-400 text-sm italic text-center py-12">
+                  {completedForms.length < completedTotal ? "No matches among the forms loaded so far." : "No submissions yet."}
+                </p>
+              )}
+              {completedForms.length < completedTotal && (
+                <LoadMoreButton shown={completedForms.length} total={completedTotal} />
               )}
             </section>
           </div>
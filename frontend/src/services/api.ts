@@ -14,7 +14,9 @@ const getAuthHeaders = () => {
   };
 };
 
-export const getForms = () => axios.get(`${BASE_URL}/forms/list`, { headers: getAuthHeaders() });
+// Catalog page: { items, total, page, size, totalPages }; accepts category, title, sort, page and size (max 200)
+export const getForms = (params: Record<string, string | number> = {}) =>
+  axios.get(`${BASE_URL}/forms/list`, { headers: getAuthHeaders(), params });
 export const getQuestionAnalytics = (formId: number) => axios.get(`${BASE_URL}/forms/${formId}/questions`, { headers: getAuthHeaders() });
 export const getSessionAnalytics = (formId: number) => axios.get(`${BASE_URL}/forms/${formId}/session-analytics`, { headers: getAuthHeaders() });
 export const getAverageSentimentByForm = (formId: number) => axios.get(`${BASE_URL}/forms/${formId}/sentiment/average`, { headers: getAuthHeaders() });